@@ -21,18 +21,24 @@
 package net.daporkchop.pepsimod;
 
 import net.daporkchop.pepsimod.module.Modules;
+import net.daporkchop.pepsimod.util.PepsiUtils;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.common.config.Config;
 import net.minecraftforge.common.config.ConfigManager;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
 import java.util.function.Consumer;
 
-import static net.daporkchop.lib.common.util.PorkUtil.*;
-
 /**
  * Forge configuration root for pepsimod.
  *
@@ -46,20 +52,60 @@ public final class PepsiConfig {
             Modules.class
     };
 
-    public static void sync() {
+    /**
+     * Getters for all static {@link ConfigNode} fields in {@link #CONFIG_ROOTS}.
+     */
+    private static final MethodHandle[] ROOT_NODES;
+
+    /**
+     * Getters for all instance {@link ConfigNode} fields in a given {@link ConfigNode} class.
+     */
+    private static final ClassValue<MethodHandle[]> NODES = new ClassValue<MethodHandle[]>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            return findNodes(type, false);
+        }
+    };
+
+    private static final long SYNC_DELAY = 1000L;
+    private static TimerTask pendingSync;
+
+    static {
+        List<MethodHandle> roots = new ArrayList<>();
         for (Class root : CONFIG_ROOTS) {
-            forEachFieldTyped(root, null, ConfigNode.class, ConfigNode::save);
+            for (MethodHandle handle : findNodes(root, true)) {
+                roots.add(handle);
+            }
         }
+        ROOT_NODES = roots.toArray(new MethodHandle[roots.size()]);
+    }
+
+    public static void sync() {
+        forEachNode(ROOT_NODES, null, ConfigNode::save);
 
         ConfigManager.sync(Pepsimod.MODID, Config.Type.INSTANCE);
 
         load();
     }
 
-    public static void load() {
-        for (Class root : CONFIG_ROOTS) {
-            forEachFieldTyped(root, null, ConfigNode.class, ConfigNode::load);
+    /**
+     * Requests that the config be synced soon. Repeated requests within a short time (e.g. when adding many blocks to Xray at once) are
+     * coalesced into a single {@link #sync()}.
+     */
+    public static synchronized void requestSync() {
+        if (pendingSync != null) {
+            pendingSync.cancel();
         }
+        PepsiUtils.timer.schedule(pendingSync = new TimerTask() {
+            @Override
+            public void run() {
+                Minecraft.getMinecraft().addScheduledTask(PepsiConfig::sync);
+            }
+        }, SYNC_DELAY);
+    }
+
+    public static void load() {
+        forEachNode(ROOT_NODES, null, ConfigNode::load);
     }
 
     /**
@@ -73,17 +119,32 @@ public final class PepsiConfig {
         }
     }
 
-    private static <I, T> void forEachFieldTyped(Class<I> clazz, I instance, Class<T> type, Consumer<T> callback) {
-        int checkFlag = instance == null ? Modifier.STATIC : 0;
+    private static MethodHandle[] findNodes(Class<?> clazz, boolean statics) {
+        MethodType type = statics ? MethodType.methodType(ConfigNode.class) : MethodType.methodType(ConfigNode.class, Object.class);
+        List<MethodHandle> handles = new ArrayList<>();
         for (Field field : clazz.getFields()) {
-            if ((field.getModifiers() & Modifier.STATIC) == checkFlag && type.isAssignableFrom(field.getType())) {
+            if (Modifier.isStatic(field.getModifiers()) == statics && ConfigNode.class.isAssignableFrom(field.getType())) {
                 try {
-                    callback.accept(uncheckedCast(field.get(instance)));
+                    field.setAccessible(true);
+                    handles.add(MethodHandles.lookup().unreflectGetter(field).asType(type));
                 } catch (IllegalAccessException e) {
                     throw new IllegalStateException("unable to access field: " + field, e);
                 }
             }
         }
+        return handles.toArray(new MethodHandle[handles.size()]);
+    }
+
+    private static void forEachNode(MethodHandle[] handles, Object instance, Consumer<ConfigNode> callback) {
+        for (MethodHandle handle : handles) {
+            ConfigNode node;
+            try {
+                node = instance == null ? (ConfigNode) handle.invokeExact() : (ConfigNode) handle.invokeExact(instance);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            callback.accept(node);
+        }
     }
 
     private PepsiConfig() {
@@ -100,14 +161,14 @@ public final class PepsiConfig {
          * Saves complex values from their parsed state into a format serializable by Forge.
          */
         default void save() {
-            forEachFieldTyped(uncheckedCast(this.getClass()), this, ConfigNode.class, ConfigNode::save);
+            forEachNode(NODES.get(this.getClass()), this, ConfigNode::save);
         }
 
         /**
          * Loads complex values from a format serializable by Forge into their parsed state.
          */
         default void load() {
-            forEachFieldTyped(uncheckedCast(this.getClass()), this, ConfigNode.class, ConfigNode::load);
+            forEachNode(NODES.get(this.getClass()), this, ConfigNode::load);
         }
     }
 }
@@ -30,7 +30,9 @@ import net.daporkchop.pepsimod.command.impl.ReloadCommand;
 import net.daporkchop.pepsimod.command.impl.SaveCommand;
 import net.daporkchop.pepsimod.command.impl.SetRotCommand;
 import net.daporkchop.pepsimod.command.impl.SortModulesCommand;
+import net.daporkchop.pepsimod.command.impl.TickTimesCommand;
 import net.daporkchop.pepsimod.command.impl.ToggleCommand;
+import net.daporkchop.pepsimod.command.impl.WaypointCommand;
 import net.daporkchop.pepsimod.event.GuiRenderHandler;
 import net.daporkchop.pepsimod.event.MiscEventHandler;
 import net.daporkchop.pepsimod.gui.clickgui.ClickGUI;
@@ -93,6 +95,7 @@ import net.daporkchop.pepsimod.module.impl.render.StorageESPMod;
 import net.daporkchop.pepsimod.module.impl.render.TracersMod;
 import net.daporkchop.pepsimod.module.impl.render.TrajectoriesMod;
 import net.daporkchop.pepsimod.module.impl.render.UnfocusedCPUMod;
+import net.daporkchop.pepsimod.module.impl.render.WaypointsMod;
 import net.daporkchop.pepsimod.module.impl.render.XrayMod;
 import net.daporkchop.pepsimod.module.impl.render.ZoomMod;
 import net.daporkchop.pepsimod.util.PepsiConstants;
@@ -103,20 +106,21 @@ import net.daporkchop.pepsimod.util.config.impl.HUDTranslator;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.Session;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.FMLLog;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.event.FMLConstructionEvent;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
-import org.apache.commons.io.IOUtils;
 import org.lwjgl.input.Keyboard;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
 import java.util.TimerTask;
 
 import static net.daporkchop.pepsimod.Lite.*;
@@ -212,6 +216,7 @@ public class Pepsimod {
                 new AntiInvisibleMod(),
                 new TrajectoriesMod(),
                 new TracersMod(),
+                new WaypointsMod(),
                 new ClickGuiMod(false, Keyboard.KEY_RSHIFT),
                 new HUDMod(true, -1),
                 new ZoomMod(-1),
@@ -261,7 +266,9 @@ public class Pepsimod {
                 new InvSeeCommand(),
                 new PeekCommand(),
                 new GoToCommand(),
-                new ReloadCommand()
+                new ReloadCommand(),
+                new TickTimesCommand(),
+                new WaypointCommand()
         );
     }
 
@@ -284,30 +291,38 @@ public class Pepsimod {
     public void loadConfig() {
         PepsiConfig.sync();
 
-        String launcherJson = "{}";
         File file = new File(PepsiConstants.mc.gameDir, "pepsimodConf.json");
-        try (InputStream in = new FileInputStream(file)) {
-            launcherJson = IOUtils.toString(in, "UTF-8");
+        boolean success;
+        try (Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            success = Config.loadConfig(in);
+        } catch (NoSuchFileException e) {
+            //first launch, keep the defaults
+            return;
         } catch (IOException e) {
             e.printStackTrace();
+            success = false;
+        }
+
+        if (!success && file.length() > 0L) {
+            //keep a copy of the broken file, the next save will replace it with whatever could be loaded
+            File backup = new File(file.getParentFile(), file.getName() + ".corrupt");
+            try {
+                Files.copy(file.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                FMLLog.log.warn("Copied unreadable config to {}", backup);
+            } catch (IOException e) {
+                FMLLog.log.error("Unable to back up unreadable config", e);
+            }
         }
-        Config.loadConfig(launcherJson);
     }
 
     public void saveConfig() {
-        PepsiConfig.sync();
-
-        String config = Config.saveConfig();
-        try {
-            File file = new File(PepsiConstants.mc.gameDir, "pepsimodConf.json");
-            if (!file.exists() && !file.createNewFile()) {
-                throw new IllegalStateException(String.format("Unable to create file: %s", file.getAbsolutePath()));
-            }
-            try (OutputStream out = new FileOutputStream(file)) {
-                out.write(config.getBytes("UTF-8"));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (!PepsiConstants.mc.isCallingFromMinecraftThread()) {
+            //translators may only be encoded on the client thread, as that's where they're modified
+            PepsiConstants.mc.addScheduledTask(this::saveConfig);
+            return;
         }
+
+        PepsiConfig.sync();
+        Config.saveConfig(new File(PepsiConstants.mc.gameDir, "pepsimodConf.json"));
     }
 }
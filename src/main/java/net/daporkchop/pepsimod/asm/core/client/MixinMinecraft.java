@@ -23,11 +23,13 @@ package net.daporkchop.pepsimod.asm.core.client;
 import net.daporkchop.pepsimod.Pepsimod;
 import net.daporkchop.pepsimod.asm.PepsimodMixinLoader;
 import net.daporkchop.pepsimod.module.ModuleManager;
-import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.TickScheduler;
 import net.daporkchop.pepsimod.module.impl.render.UnfocusedCPUMod;
 import net.daporkchop.pepsimod.module.impl.render.ZoomMod;
+import net.daporkchop.pepsimod.util.config.Config;
 import net.daporkchop.pepsimod.util.config.impl.CpuLimitTranslator;
 import net.daporkchop.pepsimod.util.config.impl.FriendsTranslator;
+import net.daporkchop.pepsimod.util.misc.TickPhase;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.gui.GuiChat;
@@ -79,6 +81,7 @@ public abstract class MixinMinecraft {
         if (mcStartedSuccessfully) {
             System.out.println("[PEPSIMOD] Saving config...");
             pepsimod.saveConfig();
+            Config.flush();
             System.out.println("[PEPSIMOD] Saved.");
 
             if (ZoomMod.INSTANCE.state.enabled) {
@@ -93,13 +96,15 @@ public abstract class MixinMinecraft {
             at = @At("RETURN")
     )
     public void postOnClientPreTick(CallbackInfo callbackInfo) {
-        if (mcStartedSuccessfully && mc.player != null && mc.player.movementInput != null) { // is ingame
-            for (Module module : ModuleManager.AVALIBLE_MODULES) {
-                if (module.shouldTick()) {
-                    module.tick();
-                }
-            }
-        }
+        TickScheduler.tick(TickPhase.FRAME);
+    }
+
+    @Inject(
+            method = "Lnet/minecraft/client/Minecraft;runTick()V",
+            at = @At("HEAD")
+    )
+    public void preRunTick(CallbackInfo callbackInfo) {
+        TickScheduler.tick(TickPhase.GAME_TICK);
     }
 
     @Inject(
@@ -119,10 +124,10 @@ public abstract class MixinMinecraft {
                             if (result.typeOfHit == RayTraceResult.Type.ENTITY && result.entityHit instanceof EntityPlayer) {
                                 if (FriendsTranslator.INSTANCE.isFriend(result.entityHit)) {
                                     this.player.sendMessage(new TextComponentString(Pepsimod.CHAT_PREFIX + "Removed \u00A7c" + result.entityHit.getName() + "\u00A7r as a friend"));
-                                    FriendsTranslator.INSTANCE.friends.remove(result.entityHit.getUniqueID());
+                                    FriendsTranslator.INSTANCE.removeFriend(result.entityHit.getUniqueID());
                                 } else {
                                     this.player.sendMessage(new TextComponentString(Pepsimod.CHAT_PREFIX + "Added \u00A79" + result.entityHit.getName() + "\u00A7r as a friend"));
-                                    FriendsTranslator.INSTANCE.friends.add(result.entityHit.getUniqueID());
+                                    FriendsTranslator.INSTANCE.addFriend(result.entityHit.getUniqueID());
                                 }
                             }
                             FMLLog.log.info(result.entityHit.getClass().getCanonicalName());
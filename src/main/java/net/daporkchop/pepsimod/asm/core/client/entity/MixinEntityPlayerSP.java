@@ -22,6 +22,7 @@ package net.daporkchop.pepsimod.asm.core.client.entity;
 
 import net.daporkchop.pepsimod.module.ModuleManager;
 import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.api.ModuleHook;
 import net.daporkchop.pepsimod.module.impl.misc.HUDMod;
 import net.daporkchop.pepsimod.module.impl.movement.NoSlowdownMod;
 import net.daporkchop.pepsimod.module.impl.movement.StepMod;
@@ -62,7 +63,7 @@ public abstract class MixinEntityPlayerSP extends AbstractClientPlayer {
         this.event.x = x;
         this.event.y = y;
         this.event.z = z;
-        for (Module module : ModuleManager.ENABLED_MODULES) {
+        for (Module module : ModuleManager.getHooked(ModuleHook.PLAYER_MOVE)) {
             module.onPlayerMove(this.event);
         }
         super.move(type, this.event.x, this.event.y, this.event.z);
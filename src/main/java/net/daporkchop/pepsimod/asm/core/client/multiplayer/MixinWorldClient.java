@@ -21,6 +21,7 @@
 package net.daporkchop.pepsimod.asm.core.client.multiplayer;
 
 import net.daporkchop.pepsimod.module.impl.misc.FreecamMod;
+import net.daporkchop.pepsimod.module.impl.render.StorageESPMod;
 import net.minecraft.client.multiplayer.WorldClient;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
@@ -44,4 +45,14 @@ public abstract class MixinWorldClient extends World {
             callbackInfo.cancel();
         }
     }
+
+    @Inject(
+            method = "Lnet/minecraft/client/multiplayer/WorldClient;doPreChunk(IIZ)V",
+            at = @At("HEAD")
+    )
+    public void preDoPreChunk(int chunkX, int chunkZ, boolean loadChunk, CallbackInfo callbackInfo) {
+        if (!loadChunk) {
+            StorageESPMod.INSTANCE.onChunkUnload(this, chunkX, chunkZ);
+        }
+    }
 }
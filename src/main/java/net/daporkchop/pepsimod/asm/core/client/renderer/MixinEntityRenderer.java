@@ -22,6 +22,7 @@ package net.daporkchop.pepsimod.asm.core.client.renderer;
 
 import net.daporkchop.pepsimod.module.ModuleManager;
 import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.api.ModuleHook;
 import net.daporkchop.pepsimod.module.impl.render.AntiBlindMod;
 import net.daporkchop.pepsimod.module.impl.render.AntiTotemAnimationMod;
 import net.daporkchop.pepsimod.module.impl.render.FullbrightMod;
@@ -86,7 +87,7 @@ public abstract class MixinEntityRenderer {
             glPushMatrix();
             this.setupCameraTransform(partialTicks, pass);
             try (WorldRenderer renderer = new WorldRenderer(RotationUtils.getClientLookVec(), PepsiUtils.getPlayerPos(partialTicks), partialTicks)) {
-                for (Module module : ModuleManager.ENABLED_MODULES) {
+                for (Module module : ModuleManager.getHooked(ModuleHook.RENDER_OVERLAY)) {
                     module.renderOverlay(renderer);
                 }
             }
@@ -97,15 +98,17 @@ public abstract class MixinEntityRenderer {
             glPushMatrix();
             this.setupCameraTransform(partialTicks, pass);
             try (WorldRenderer renderer = new WorldRenderer(RotationUtils.getClientLookVec(), PepsiUtils.getPlayerPos(partialTicks), partialTicks)) {
-                for (Module module : ModuleManager.ENABLED_MODULES) {
+                for (Module module : ModuleManager.getHooked(ModuleHook.RENDER_WORLD)) {
                     module.renderWorld(renderer);
                 }
             }
             glPopMatrix();
         } else {
             try (WorldRenderer renderer = new WorldRenderer(RotationUtils.getClientLookVec(), PepsiUtils.getPlayerPos(partialTicks), partialTicks)) {
-                for (Module module : ModuleManager.ENABLED_MODULES) {
+                for (Module module : ModuleManager.getHooked(ModuleHook.RENDER_OVERLAY)) {
                     module.renderOverlay(renderer);
+                }
+                for (Module module : ModuleManager.getHooked(ModuleHook.RENDER_WORLD)) {
                     module.renderWorld(renderer);
                 }
             }
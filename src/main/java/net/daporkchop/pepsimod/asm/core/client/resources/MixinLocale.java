@@ -20,6 +20,7 @@
 
 package net.daporkchop.pepsimod.asm.core.client.resources;
 
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.client.resources.Locale;
 import org.spongepowered.asm.mixin.Mixin;
@@ -28,13 +29,20 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
 import java.util.List;
 
+import static net.daporkchop.pepsimod.Lite.*;
+
 @Mixin(Locale.class)
 public abstract class MixinLocale {
+    private static final String OVERLAY_URL = "https://gist.githubusercontent.com/DaMatrix/f7106cad11fa86495915941d6c308f5e/raw/273c86250f74f3258c39789d5b0984e539609888/en_US.lang";
+    private static final String OVERLAY_PATH = "lang/en_US.lang";
+
+    private static boolean overlayRefreshed;
+
     @Shadow
     private void loadLocaleData(InputStream inputStreamIn) throws IOException {
     }
@@ -44,8 +52,28 @@ public abstract class MixinLocale {
             at = @At("RETURN")
     )
     public void postLoad(IResourceManager resourceManager, List<String> languageList, CallbackInfo callbackInfo) {
-        try (InputStream in = new URL("https://gist.githubusercontent.com/DaMatrix/f7106cad11fa86495915941d6c308f5e/raw/273c86250f74f3258c39789d5b0984e539609888/en_US.lang").openStream()) {
-            this.loadLocaleData(in);
+        if (DATA == null) {
+            return;
+        }
+
+        //apply whatever we already have on disk right away, and only go to the network once per session
+        byte[] cached = DATA.readCached(OVERLAY_PATH);
+        if (cached != null) {
+            this.applyOverlay(cached);
+        }
+        if (!overlayRefreshed) {
+            overlayRefreshed = true;
+            DATA.refresh(OVERLAY_PATH, OVERLAY_URL).thenAccept(b -> {
+                if (b != null) {
+                    Minecraft.getMinecraft().addScheduledTask(() -> this.applyOverlay(b));
+                }
+            });
+        }
+    }
+
+    private void applyOverlay(byte[] b) {
+        try {
+            this.loadLocaleData(new ByteArrayInputStream(b));
         } catch (IOException e) {
         }
     }
@@ -26,11 +26,11 @@ import net.daporkchop.pepsimod.module.impl.movement.VelocityMod;
 import net.daporkchop.pepsimod.module.impl.render.AntiInvisibleMod;
 import net.daporkchop.pepsimod.module.impl.render.ESPMod;
 import net.daporkchop.pepsimod.util.config.impl.ESPTranslator;
+import net.daporkchop.pepsimod.util.config.impl.FriendsTranslator;
+import net.daporkchop.pepsimod.util.misc.EntityCategory;
+import net.daporkchop.pepsimod.util.misc.IEntityCache;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.MoverType;
-import net.minecraft.entity.monster.EntityGolem;
-import net.minecraft.entity.monster.EntityMob;
-import net.minecraft.entity.passive.EntityAnimal;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.AxisAlignedBB;
 import org.spongepowered.asm.mixin.Mixin;
@@ -40,10 +40,16 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.UUID;
+
 import static net.daporkchop.pepsimod.util.PepsiConstants.mc;
 
 @Mixin(Entity.class)
-public abstract class MixinEntity {
+public abstract class MixinEntity implements IEntityCache {
+    private EntityCategory pepsimod_category;
+    private boolean pepsimod_friend;
+    private int pepsimod_friendGeneration = -1;
+
     @Shadow
     public double motionX;
     @Shadow
@@ -56,6 +62,28 @@ public abstract class MixinEntity {
     @Shadow
     public abstract void resetPositionToBB();
 
+    @Shadow
+    public abstract UUID getUniqueID();
+
+    @Override
+    public EntityCategory getCategory() {
+        EntityCategory category = this.pepsimod_category;
+        if (category == null) {
+            this.pepsimod_category = category = EntityCategory.of(Entity.class.cast(this).getClass());
+        }
+        return category;
+    }
+
+    @Override
+    public boolean isFriend() {
+        int generation = FriendsTranslator.INSTANCE.generation;
+        if (this.pepsimod_friendGeneration != generation) {
+            this.pepsimod_friend = FriendsTranslator.INSTANCE.isFriend(this.getUniqueID());
+            this.pepsimod_friendGeneration = generation;
+        }
+        return this.pepsimod_friend;
+    }
+
     @Inject(
             method = "Lnet/minecraft/entity/Entity;setVelocity(DDD)V",
             at = @At("HEAD"),
@@ -105,20 +133,32 @@ public abstract class MixinEntity {
     )
     public void preisGlowing(CallbackInfoReturnable<Boolean> callbackInfoReturnable) {
         if (ESPMod.INSTANCE.state.enabled && !ESPTranslator.INSTANCE.box) {
-            Entity this_ = Entity.class.cast(this);
-            if (this_.isInvisible()) {
+            if (Entity.class.cast(this).isInvisible()) {
                 if (!ESPTranslator.INSTANCE.invisible) {
                     return;
                 }
             }
-            if (ESPTranslator.INSTANCE.animals && this_ instanceof EntityAnimal) {
-                callbackInfoReturnable.setReturnValue(true);
-            } else if (ESPTranslator.INSTANCE.monsters && this_ instanceof EntityMob) {
-                callbackInfoReturnable.setReturnValue(true);
-            } else if (ESPTranslator.INSTANCE.players && this_ instanceof EntityPlayer) {
-                callbackInfoReturnable.setReturnValue(true);
-            } else if (ESPTranslator.INSTANCE.golems && this_ instanceof EntityGolem) {
-                callbackInfoReturnable.setReturnValue(true);
+            switch (this.getCategory()) {
+                case ANIMAL:
+                    if (ESPTranslator.INSTANCE.animals) {
+                        callbackInfoReturnable.setReturnValue(true);
+                    }
+                    break;
+                case MONSTER:
+                    if (ESPTranslator.INSTANCE.monsters) {
+                        callbackInfoReturnable.setReturnValue(true);
+                    }
+                    break;
+                case PLAYER:
+                    if (ESPTranslator.INSTANCE.players) {
+                        callbackInfoReturnable.setReturnValue(true);
+                    }
+                    break;
+                case GOLEM:
+                    if (ESPTranslator.INSTANCE.golems) {
+                        callbackInfoReturnable.setReturnValue(true);
+                    }
+                    break;
             }
         }
     }
@@ -21,11 +21,16 @@
 package net.daporkchop.pepsimod.asm.core.world;
 
 import net.daporkchop.pepsimod.module.impl.render.NoWeatherMod;
+import net.daporkchop.pepsimod.module.impl.render.StorageESPMod;
 import net.daporkchop.pepsimod.util.config.impl.NoWeatherTranslator;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(World.class)
@@ -53,4 +58,30 @@ public abstract class MixinWorld {
             callbackInfoReturnable.cancel();
         }
     }
+
+    @Inject(
+            method = "Lnet/minecraft/world/World;addTileEntity(Lnet/minecraft/tileentity/TileEntity;)Z",
+            at = @At("RETURN")
+    )
+    public void postAddTileEntity(TileEntity tile, CallbackInfoReturnable<Boolean> callbackInfoReturnable) {
+        StorageESPMod.INSTANCE.onBlockChanged(World.class.cast(this), tile.getPos());
+    }
+
+    @Inject(
+            method = "Lnet/minecraft/world/World;removeTileEntity(Lnet/minecraft/util/math/BlockPos;)V",
+            at = @At("HEAD")
+    )
+    public void preRemoveTileEntity(BlockPos pos, CallbackInfo callbackInfo) {
+        StorageESPMod.INSTANCE.onBlockChanged(World.class.cast(this), pos);
+    }
+
+    @Inject(
+            method = "Lnet/minecraft/world/World;notifyBlockUpdate(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/state/IBlockState;Lnet/minecraft/block/state/IBlockState;I)V",
+            at = @At("HEAD")
+    )
+    public void preNotifyBlockUpdate(BlockPos pos, IBlockState oldState, IBlockState newState, int flags, CallbackInfo callbackInfo) {
+        if (oldState != newState) {
+            StorageESPMod.INSTANCE.onBlockChanged(World.class.cast(this), pos);
+        }
+    }
 }
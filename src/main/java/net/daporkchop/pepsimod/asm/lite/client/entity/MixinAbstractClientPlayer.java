@@ -21,6 +21,7 @@
 package net.daporkchop.pepsimod.asm.lite.client.entity;
 
 import net.daporkchop.pepsimod.misc.data.Group;
+import net.daporkchop.pepsimod.misc.data.IGroupCache;
 import net.minecraft.client.entity.AbstractClientPlayer;
 import net.minecraft.client.network.NetworkPlayerInfo;
 import net.minecraft.entity.player.EntityPlayer;
@@ -31,8 +32,6 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import static net.daporkchop.pepsimod.Lite.*;
-
 @Mixin(AbstractClientPlayer.class)
 public abstract class MixinAbstractClientPlayer extends EntityPlayer {
     public MixinAbstractClientPlayer() {
@@ -48,10 +47,12 @@ public abstract class MixinAbstractClientPlayer extends EntityPlayer {
             cancellable = true
     )
     public void preGetLocationCape(CallbackInfoReturnable<ResourceLocation> callbackInfo) {
-        if (this.getPlayerInfo() != null) {
-            Group group = DATA.getGroup(this.getPlayerInfo());
-            if (group != null) {
-                group.doWithCapeIfPresent(tex -> callbackInfo.setReturnValue(tex.texture));
+        NetworkPlayerInfo info = this.getPlayerInfo();
+        if (info != null) {
+            Group group = ((IGroupCache) info).getGroup();
+            ResourceLocation cape;
+            if (group != null && (cape = group.getCapeLocation()) != null) {
+                callbackInfo.setReturnValue(cape);
             }
         }
     }
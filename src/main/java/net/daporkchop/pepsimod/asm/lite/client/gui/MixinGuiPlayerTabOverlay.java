@@ -21,15 +21,14 @@
 package net.daporkchop.pepsimod.asm.lite.client.gui;
 
 import net.daporkchop.pepsimod.misc.data.Group;
+import net.daporkchop.pepsimod.misc.data.IconAtlas;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.gui.GuiPlayerTabOverlay;
 import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.client.network.NetworkPlayerInfo;
-import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.scoreboard.ScoreObjective;
 import net.minecraft.scoreboard.Scoreboard;
-import net.minecraft.util.ResourceLocation;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -54,6 +53,9 @@ abstract class MixinGuiPlayerTabOverlay extends Gui {
     @Final
     private Minecraft mc;
 
+    private IconAtlas icons;
+    private int iconsGeneration;
+
     @Redirect(
             method = "Lnet/minecraft/client/gui/GuiPlayerTabOverlay;renderPlayerlist(ILnet/minecraft/scoreboard/Scoreboard;Lnet/minecraft/scoreboard/ScoreObjective;)V",
             at = @At(
@@ -105,13 +107,25 @@ abstract class MixinGuiPlayerTabOverlay extends Gui {
         return 0;
     }
 
-    @Redirect(
-            method = "Lnet/minecraft/client/gui/GuiPlayerTabOverlay;drawPing(IIILnet/minecraft/client/network/NetworkPlayerInfo;)V",
-            at = @At(
-                    value = "INVOKE",
-                    target = "Lnet/minecraft/client/renderer/texture/TextureManager;bindTexture(Lnet/minecraft/util/ResourceLocation;)V"
-            ))
-    public void preventExtraPingTextureBind(TextureManager manager, ResourceLocation location) {
+    @Inject(
+            method = "Lnet/minecraft/client/gui/GuiPlayerTabOverlay;renderPlayerlist(ILnet/minecraft/scoreboard/Scoreboard;Lnet/minecraft/scoreboard/ScoreObjective;)V",
+            at = @At("HEAD")
+    )
+    public void preRenderPlayerlist(int width, Scoreboard scoreboardIn, ScoreObjective scoreObjectiveIn, CallbackInfo callbackInfo) {
+        //read the generation first, so that a concurrent reload can only make it look older than the atlas, never newer
+        this.iconsGeneration = DATA.generation;
+        this.icons = DATA.groups.icons;
+    }
+
+    @Inject(
+            method = "Lnet/minecraft/client/gui/GuiPlayerTabOverlay;renderPlayerlist(ILnet/minecraft/scoreboard/Scoreboard;Lnet/minecraft/scoreboard/ScoreObjective;)V",
+            at = @At("RETURN")
+    )
+    public void postRenderPlayerlist(int width, Scoreboard scoreboardIn, ScoreObjective scoreObjectiveIn, CallbackInfo callbackInfo) {
+        if (this.icons != null) {
+            this.icons.draw();
+            this.icons = null;
+        }
     }
 
     @Inject(
@@ -122,9 +136,9 @@ abstract class MixinGuiPlayerTabOverlay extends Gui {
             ))
     public void drawIconIfPossible(int p_175245_1_, int p_175245_2_, int p_175245_3_, NetworkPlayerInfo info, CallbackInfo callbackInfo) {
         Group group = DATA.getGroup(info);
-        if (group != null) {
-            group.doWithIconIfPresent(tex -> tex.render(p_175245_2_ + p_175245_1_ - 11 - 9, p_175245_3_, 8, 8));
+        //icon slots are only meaningful for the atlas of the groups they were loaded with
+        if (group != null && this.icons != null && this.iconsGeneration == DATA.generation) {
+            this.icons.add(group.iconSlot, p_175245_2_ + p_175245_1_ - 11 - 9, p_175245_3_, 8, 8);
         }
-        this.mc.getTextureManager().bindTexture(ICONS);
     }
 }
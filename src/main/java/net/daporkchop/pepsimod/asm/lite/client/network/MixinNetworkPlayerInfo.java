@@ -0,0 +1,52 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.asm.lite.client.network;
+
+import com.mojang.authlib.GameProfile;
+import net.daporkchop.pepsimod.misc.data.Group;
+import net.daporkchop.pepsimod.misc.data.IGroupCache;
+import net.minecraft.client.network.NetworkPlayerInfo;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+import static net.daporkchop.pepsimod.Lite.*;
+
+/**
+ * @author DaPorkchop_
+ */
+@Mixin(NetworkPlayerInfo.class)
+public abstract class MixinNetworkPlayerInfo implements IGroupCache {
+    private Group pepsimod_group;
+    private int pepsimod_groupGeneration = -1;
+
+    @Shadow
+    public abstract GameProfile getGameProfile();
+
+    @Override
+    public Group getGroup() {
+        int generation = DATA.generation;
+        if (this.pepsimod_groupGeneration != generation) {
+            this.pepsimod_group = DATA.getGroup(this.getGameProfile().getId());
+            this.pepsimod_groupGeneration = generation;
+        }
+        return this.pepsimod_group;
+    }
+}
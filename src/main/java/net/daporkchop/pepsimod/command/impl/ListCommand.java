@@ -32,8 +32,8 @@ public class ListCommand extends Command {
     @Override
     public void execute(String cmd, String[] args) {
         String s = "";
-        for (int i = 0; i < ModuleManager.AVALIBLE_MODULES.size(); i++) {
-            s += ModuleManager.AVALIBLE_MODULES.get(i).name + (i + 1 == ModuleManager.AVALIBLE_MODULES.size() ? "" : ", ");
+        for (int i = 0; i < ModuleManager.AVALIBLE_MODULES.length; i++) {
+            s += ModuleManager.AVALIBLE_MODULES[i].name + (i + 1 == ModuleManager.AVALIBLE_MODULES.length ? "" : ", ");
         }
         clientMessage("Available modules: " + PepsiUtils.COLOR_ESCAPE + "o" + s);
     }
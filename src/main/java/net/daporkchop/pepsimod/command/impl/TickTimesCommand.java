@@ -0,0 +1,79 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.command.impl;
+
+import net.daporkchop.pepsimod.command.api.Command;
+import net.daporkchop.pepsimod.module.ModuleManager;
+import net.daporkchop.pepsimod.module.TickScheduler;
+import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.util.PepsiUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class TickTimesCommand extends Command {
+    /**
+     * The maximum number of modules to list
+     */
+    public static final int MAX_ENTRIES = 10;
+
+    public TickTimesCommand() {
+        super("ticktimes");
+    }
+
+    @Override
+    public void execute(String cmd, String[] args) {
+        if (args.length > 1 && "reset".equals(args[1])) {
+            TickScheduler.resetBudgets();
+            clientMessage("Reset module tick times");
+            return;
+        }
+
+        List<Module> modules = new ArrayList<>();
+        for (Module module : ModuleManager.AVALIBLE_MODULES) {
+            if (module.tickBudget.calls != 0L) {
+                modules.add(module);
+            }
+        }
+        if (modules.isEmpty()) {
+            clientMessage("No modules have been ticked yet!");
+            return;
+        }
+        modules.sort(Comparator.comparingLong((Module module) -> module.tickBudget.getAverageNanos()).reversed());
+
+        clientMessage("Module tick times (avg/peak, \u00B5s):");
+        for (int i = 0; i < modules.size() && i < MAX_ENTRIES; i++) {
+            Module module = modules.get(i);
+            clientMessage(PepsiUtils.COLOR_ESCAPE + "o" + module.name + PepsiUtils.COLOR_ESCAPE + "r: "
+                    + module.tickBudget.getAverageNanos() / 1000L + '/' + module.tickBudget.peakNanos / 1000L
+                    + " (" + module.getTickPhase().name().toLowerCase() + ')');
+        }
+    }
+
+    @Override
+    public String getSuggestion(String cmd, String[] args) {
+        if (args.length == 2 && !args[1].isEmpty() && "reset".startsWith(args[1])) {
+            return ".ticktimes reset";
+        }
+        return ".ticktimes";
+    }
+}
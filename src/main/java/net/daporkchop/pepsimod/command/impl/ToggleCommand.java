@@ -34,8 +34,8 @@ public class ToggleCommand extends Command {
     public void execute(String cmd, String[] args) {
         if (args.length < 2) {
             String s = "";
-            for (int i = 0; i < ModuleManager.AVALIBLE_MODULES.size(); i++) {
-                s += ModuleManager.AVALIBLE_MODULES.get(i).name + (i + 1 == ModuleManager.AVALIBLE_MODULES.size() ? "" : ", ");
+            for (int i = 0; i < ModuleManager.AVALIBLE_MODULES.length; i++) {
+                s += ModuleManager.AVALIBLE_MODULES[i].name + (i + 1 == ModuleManager.AVALIBLE_MODULES.length ? "" : ", ");
             }
             clientMessage("Available modules: " + PepsiUtils.COLOR_ESCAPE + "o" + s);
             return;
@@ -53,10 +53,10 @@ public class ToggleCommand extends Command {
     public String getSuggestion(String cmd, String[] args) {
         switch (args.length) {
             case 1:
-                return ".toggle " + ModuleManager.AVALIBLE_MODULES.get(0).name;
+                return ".toggle " + ModuleManager.AVALIBLE_MODULES[0].name;
             case 2:
                 if (args[1].isEmpty()) {
-                    return ".toggle " + ModuleManager.AVALIBLE_MODULES.get(0).name;
+                    return ".toggle " + ModuleManager.AVALIBLE_MODULES[0].name;
                 }
                 for (Module module : ModuleManager.AVALIBLE_MODULES) {
                     if (module.name.startsWith(args[1])) {
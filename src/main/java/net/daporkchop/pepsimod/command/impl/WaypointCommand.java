@@ -0,0 +1,147 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.command.impl;
+
+import net.daporkchop.pepsimod.command.api.Command;
+import net.daporkchop.pepsimod.util.PepsiUtils;
+import net.daporkchop.pepsimod.util.misc.waypoints.DimensionWaypoints;
+import net.daporkchop.pepsimod.util.misc.waypoints.ServerWaypoints;
+import net.daporkchop.pepsimod.util.misc.waypoints.Waypoint;
+
+public class WaypointCommand extends Command {
+    protected static final String[] SUBCOMMANDS = {"add", "remove", "show", "hide", "list"};
+
+    public WaypointCommand() {
+        super("waypoint");
+    }
+
+    @Override
+    public void execute(String cmd, String[] args) {
+        ServerWaypoints server = ServerWaypoints.getCurrent();
+        if (server == null) {
+            clientMessage("Waypoints are still loading, try again in a moment.");
+            return;
+        } else if (args.length < 2) {
+            clientMessage("Usage: " + PepsiUtils.COLOR_ESCAPE + "o.waypoint <add|remove|show|hide|list> [name] [x y z]");
+            return;
+        }
+
+        int dim = mc.player.dimension;
+        DimensionWaypoints dimension = server.getOrCreateDimension(dim);
+        switch (args[1]) {
+            case "add": {
+                if (args.length != 3 && args.length != 6) {
+                    clientMessage("Usage: " + PepsiUtils.COLOR_ESCAPE + "o.waypoint add <name> [x y z]");
+                    return;
+                }
+                Waypoint waypoint;
+                if (args.length == 6) {
+                    try {
+                        waypoint = new Waypoint(args[2], Integer.parseInt(args[3]), Integer.parseInt(args[4]), Integer.parseInt(args[5]), dim);
+                    } catch (NumberFormatException e) {
+                        clientMessage("Invalid coordinates: " + PepsiUtils.COLOR_ESCAPE + "o" + args[3] + ' ' + args[4] + ' ' + args[5]);
+                        return;
+                    }
+                } else {
+                    waypoint = new Waypoint(args[2], mc.player.posX, mc.player.posY, mc.player.posZ, dim);
+                }
+                dimension.add(waypoint);
+                server.save();
+                clientMessage("Added waypoint " + PepsiUtils.COLOR_ESCAPE + "o" + waypoint.name + PepsiUtils.COLOR_ESCAPE + "r at "
+                        + waypoint.x + ", " + waypoint.y + ", " + waypoint.z);
+                return;
+            }
+            case "remove": {
+                if (args.length < 3) {
+                    clientMessage("Usage: " + PepsiUtils.COLOR_ESCAPE + "o.waypoint remove <name>");
+                } else if (dimension.remove(args[2]) == null) {
+                    clientMessage("No waypoint was found by the name: " + PepsiUtils.COLOR_ESCAPE + "o" + args[2]);
+                } else {
+                    server.save();
+                    clientMessage("Removed waypoint " + PepsiUtils.COLOR_ESCAPE + "o" + args[2]);
+                }
+                return;
+            }
+            case "show":
+            case "hide": {
+                Waypoint waypoint = args.length < 3 ? null : dimension.get(args[2]);
+                if (waypoint == null) {
+                    clientMessage("No waypoint was found by the name: " + PepsiUtils.COLOR_ESCAPE + "o" + (args.length < 3 ? "" : args[2]));
+                } else {
+                    //waypoints are immutable, replace it with a copy
+                    dimension.add(new Waypoint(waypoint.name, waypoint.x, waypoint.y, waypoint.z, "show".equals(args[1]), dim));
+                    server.save();
+                    clientMessage(("show".equals(args[1]) ? "Showing" : "Hiding") + " waypoint " + PepsiUtils.COLOR_ESCAPE + "o" + waypoint.name);
+                }
+                return;
+            }
+            case "list": {
+                if (dimension.size() == 0) {
+                    clientMessage("There are no waypoints in this dimension.");
+                    return;
+                }
+                StringBuilder builder = new StringBuilder();
+                for (Waypoint waypoint : dimension.getAll()) {
+                    if (builder.length() > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(waypoint.name);
+                }
+                clientMessage(dimension.size() + " waypoints: " + PepsiUtils.COLOR_ESCAPE + "o" + builder);
+                return;
+            }
+        }
+        clientMessage("Unknown subcommand: " + PepsiUtils.COLOR_ESCAPE + "o" + args[1]);
+    }
+
+    @Override
+    public String getSuggestion(String cmd, String[] args) {
+        switch (args.length) {
+            case 1:
+                return ".waypoint add";
+            case 2:
+                for (String subcommand : SUBCOMMANDS) {
+                    if (subcommand.startsWith(args[1])) {
+                        return ".waypoint " + subcommand;
+                    }
+                }
+                return "";
+            case 3:
+                ServerWaypoints server = ServerWaypoints.getCurrent();
+                DimensionWaypoints dimension = server == null || "add".equals(args[1]) ? null : server.getDimension(mc.player.dimension);
+                if (dimension != null) {
+                    for (Waypoint waypoint : dimension.getAll()) {
+                        if (waypoint.name.startsWith(args[2])) {
+                            return ".waypoint " + args[1] + ' ' + waypoint.name;
+                        }
+                    }
+                }
+                return "";
+        }
+
+        return "";
+    }
+
+    @Override
+    public String[] aliases() {
+        return new String[]{"waypoint", "wp"};
+    }
+}
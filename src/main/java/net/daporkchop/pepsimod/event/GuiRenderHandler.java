@@ -22,6 +22,7 @@ package net.daporkchop.pepsimod.event;
 
 import net.daporkchop.pepsimod.module.ModuleManager;
 import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.api.ModuleHook;
 import net.daporkchop.pepsimod.util.BetterScaledResolution;
 import net.daporkchop.pepsimod.util.PepsiConstants;
 import net.minecraft.client.gui.GuiIngame;
@@ -49,14 +50,14 @@ public class GuiRenderHandler extends PepsiConstants {
         int width = BetterScaledResolution.INSTANCE.scaledWidth;
         int height = BetterScaledResolution.INSTANCE.scaledHeight;
 
-        for (Module module : ModuleManager.ENABLED_MODULES) {
+        for (Module module : ModuleManager.getHooked(ModuleHook.RENDER_GUI)) {
             module.onRenderGUI(event.getPartialTicks(), width, height, gui);
         }
     }
 
     @SubscribeEvent
     public void onRenderWorld(RenderWorldLastEvent event) {
-        for (Module module : ModuleManager.ENABLED_MODULES) {
+        for (Module module : ModuleManager.getHooked(ModuleHook.RENDER)) {
             module.onRender(event.getPartialTicks());
         }
     }
@@ -24,75 +24,151 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mojang.authlib.GameProfile;
-import net.daporkchop.lib.common.function.io.IOConsumer;
-import net.daporkchop.lib.common.function.io.IOFunction;
-import net.daporkchop.lib.common.function.io.IOSupplier;
 import net.daporkchop.pepsimod.asm.PepsimodMixinLoader;
 import net.daporkchop.pepsimod.util.ReflectionStuff;
 import net.daporkchop.pepsimod.util.render.Texture;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetworkPlayerInfo;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.common.FMLLog;
 
 import javax.swing.JOptionPane;
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
+ * Loads pepsimod's remote resources (groups, capes, translations, main menu).
+ * <p>
+ * Resources are always served from the on-disk cache if a copy exists, so startup never waits on the network once the cache has been
+ * populated. After every load, all cached files are revalidated in the background using conditional HTTP requests ({@code ETag} and
+ * {@code Last-Modified}), and if anything actually changed the resources are loaded again from the updated cache.
+ * <p>
+ * Independent resources are fetched concurrently on a small shared pool, but everything that touches Minecraft state is still built on the
+ * thread that called {@link #load()}, and reloads triggered by revalidation are applied on the client thread. Textures are decoded on the pool as well and uploaded a few per frame by {@link Texture#processUploads()}, and
+ * group icons are packed into a single {@link IconAtlas}.
+ *
  * @author DaPorkchop_
  */
 public class DataLoader {
+    protected static final String ROOT_PATH = "/resources.json";
+    protected static final String MANIFEST_NAME = "cache.json";
+
+    protected static final int BUFFER_SIZE = 8192;
+    protected static final int TIMEOUT = 10000;
+
+    protected static final ExecutorService EXECUTOR;
+
+    static {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(4, 4, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "pepsimod resource loader #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
     protected final String resourcesUrl;
     protected final File cache;
-    protected final JsonObject root;
-    protected IOFunction<String, InputStream> readerFunction;
+    protected final boolean remote;
+    protected final Map<String, CacheEntry> manifest = new ConcurrentHashMap<>();
+    /**
+     * Guards writes to the manifest file. Deliberately separate from the instance monitor, which {@link #load(boolean)}
+     * holds while waiting for fetches that themselves need to save the manifest.
+     */
+    protected final Object manifestLock = new Object();
+    protected final Map<String, CompletableFuture<byte[]>> fetches = new ConcurrentHashMap<>();
+    protected JsonObject root;
+    protected String baseUrl;
 
     public Groups groups = new Groups();
+    /**
+     * Incremented every time {@link #groups} is replaced, used to invalidate {@link IGroupCache}.
+     */
+    public volatile int generation;
     public final Map<String, String> localeKeys = new HashMap<>();
     public MainMenu mainMenu = new MainMenu();
 
     public DataLoader(String resourcesUrl, File cache) {
+        this(resourcesUrl, cache, PepsimodMixinLoader.isObfuscatedEnvironment);
+    }
+
+    /**
+     * @param resourcesUrl the URL of {@code resources.json}, whose {@code baseurl} all other resources are relative to
+     * @param cache        the directory to cache resources in
+     * @param remote       whether to use {@code resourcesUrl}, or to read the resources from the source tree as in a dev environment. Pass
+     *                     {@code true} together with the URL of a local HTTP server to load from a stub
+     */
+    public DataLoader(String resourcesUrl, File cache, boolean remote) {
         this.resourcesUrl = Objects.requireNonNull(resourcesUrl, "resourcesUrl");
         this.cache = cache;
+        this.remote = remote;
 
         if (!cache.exists() && !cache.mkdirs()) {
             throw new IllegalStateException(String.format("Unable to create directory: %s", cache.getAbsolutePath()));
         }
 
-        this.root = this.getResourcesRoot();
-        {
-            String baseurl = this.root.get("baseurl").getAsString();
-            this.readerFunction = PepsimodMixinLoader.isObfuscatedEnvironment ?
-                    s -> new URL(String.format("%s%s", baseurl, s)).openStream() :
-                    s -> new BufferedInputStream(new FileInputStream(new File(String.format("../resources/%s", s))));
-        }
+        this.loadManifest();
     }
 
     public void load() {
+        this.fetches.clear();
+        this.load(true);
+    }
+
+    /**
+     * Builds and applies all resources, reading them through {@link #fetches}.
+     * <p>
+     * Must be called on the thread that owns Minecraft's state, as this replaces textures, groups and language keys.
+     */
+    protected synchronized void load(boolean revalidate) {
+        this.root = this.readJson(ROOT_PATH);
+        this.baseUrl = this.remote ? this.root.get("baseurl").getAsString() : localUrl("");
+
         JsonObject data = this.root.get("data").getAsJsonObject();
+        this.prefetch(data);
+
         if (data.has("groups")) {
             JsonObject json = this.readJson(data.get("groups").getAsString());
 
             Groups groups = new Groups();
+            List<CompletableFuture<byte[]>> icons = new ArrayList<>();
             StreamSupport.stream(json.getAsJsonArray("groups").spliterator(), false)
                          .map(JsonElement::getAsString)
-                         .map((IOFunction<String, JsonObject>) this::readJson)
-                         .forEach((IOConsumer<JsonObject>) object -> {
+                         .map(this::readJson)
+                         .forEach(object -> {
                              int color = 0x000000;
                              if (object.has("color")) {
                                  JsonObject colorJson = object.getAsJsonObject("color");
@@ -109,12 +185,14 @@ public class DataLoader {
                                                   .collect(Collectors.toSet()),
                                      color,
                                      object.has("cape") ? this.readTexture(object.get("cape").getAsString()) : null,
-                                     object.has("icon") ? this.readTexture(object.get("icon").getAsString()) : null
+                                     object.has("icon") ? this.addIcon(icons, object.get("icon").getAsString()) : -1
                              ));
                          });
+            groups.icons = new IconAtlas(icons, EXECUTOR);
 
             Groups oldGroups = this.groups;
             this.groups = groups;
+            this.generation++;
             oldGroups.close();
         }
 
@@ -140,6 +218,10 @@ public class DataLoader {
                     this.readTexture(json.get("banner").getAsString())
             );
         }
+
+        if (revalidate) {
+            this.revalidate();
+        }
     }
 
     public Group getGroup(EntityPlayer entity)   {
@@ -147,7 +229,7 @@ public class DataLoader {
     }
 
     public Group getGroup(NetworkPlayerInfo info)   {
-        return this.getGroup(info.getGameProfile());
+        return ((IGroupCache) info).getGroup();
     }
 
     public Group getGroup(GameProfile profile)   {
@@ -158,70 +240,276 @@ public class DataLoader {
         return this.groups.playerToGroup.get(uuid);
     }
 
-    protected JsonObject getResourcesRoot() {
-        if (PepsimodMixinLoader.isObfuscatedEnvironment) {
-                return this.readJson(this.read(
-                        "/resources.json",
-                        () -> new URL(this.resourcesUrl).openStream(),
-                        new File(this.cache, "resources.json")
-                ));
-        } else {
-            return this.readJson(this.read(
-                    "/resources.json",
-                    () -> new BufferedInputStream(new FileInputStream(new File("../resources/resources.json"))),
-                    new File(this.cache, "resources.json")
-            ));
+    /**
+     * Starts fetching every resource referenced by the given data object, following references into nested JSON files as soon as they
+     * arrive, so that the sequential reads done by {@link #load(boolean)} only have to wait for whichever file is slowest.
+     */
+    protected CompletableFuture<Void> prefetch(JsonObject data) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        if (data.has("groups")) {
+            futures.add(this.fetch(data.get("groups").getAsString()).thenCompose(groups -> {
+                List<CompletableFuture<byte[]>> members = new ArrayList<>();
+                for (JsonElement element : this.readJson(groups).getAsJsonArray("groups")) {
+                    members.add(this.fetch(element.getAsString()));
+                }
+                return CompletableFuture.allOf(members.toArray(new CompletableFuture[members.size()]));
+            }));
         }
+        if (data.has("lang")) {
+            futures.add(this.fetch(data.get("lang").getAsString()));
+        }
+        if (data.has("mainmenu")) {
+            futures.add(this.fetch(data.get("mainmenu").getAsString()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
     }
 
-    protected byte[] read(String path)  {
-        return this.read(path, () -> this.readerFunction.apply(path), new File(this.cache, path.replace('/', File.separatorChar)));
+    /**
+     * Reloads the resources from the cache after revalidation found changes.
+     * <p>
+     * All files are read and parsed on the pool first, and only then are the resources applied on the client thread, which is the only
+     * thread allowed to touch the language map, textures and groups.
+     */
+    protected void reload() {
+        this.fetches.clear();
+        this.fetch(ROOT_PATH)
+                .thenCompose(root -> this.prefetch(this.readJson(root).getAsJsonObject("data")))
+                .whenComplete((v, t) -> {
+                    if (t != null) {
+                        FMLLog.log.warn("Unable to reload pepsimod resources", t);
+                    } else {
+                        Minecraft.getMinecraft().addScheduledTask(() -> this.load(false));
+                    }
+                });
     }
 
-    protected byte[] read(String path, IOSupplier<InputStream> inSupplier, File cached)  {
+    /**
+     * Re-checks every file used by the last load against the server without blocking the caller. Files are only transferred and rewritten
+     * if the server says they changed, in which case the resources are loaded again from the freshly updated cache.
+     */
+    protected void revalidate() {
+        List<String> paths = new ArrayList<>(this.fetches.keySet());
+        if (!paths.contains(ROOT_PATH)) {
+            paths.add(ROOT_PATH);
+        }
+
+        List<CompletableFuture<Boolean>> futures = paths.stream()
+                .map(path -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return this.download(path) != null;
+                    } catch (IOException e) {
+                        FMLLog.log.warn("Unable to revalidate resource: {}", path, e);
+                        return false;
+                    }
+                }, EXECUTOR))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenRun(() -> {
+            this.saveManifest();
+            if (futures.stream().anyMatch(CompletableFuture::join)) {
+                FMLLog.log.info("pepsimod resources changed, reloading...");
+                this.reload();
+            }
+        });
+    }
+
+    /**
+     * Reads a resource from the cache without touching the network.
+     *
+     * @return the cached contents, or {@code null} if the resource isn't cached
+     */
+    public byte[] readCached(String path) {
+        File cached = this.cacheFile(path);
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            try (InputStream in = inSupplier.get()) {
-                int i;
-                while ((i = in.read()) != -1) {
-                    baos.write(i);
-                }
+            return cached.exists() ? Files.readAllBytes(cached.toPath()) : null;
+        } catch (IOException e) {
+            FMLLog.log.warn("Unable to read cached resource: {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Revalidates a resource from an arbitrary URL into the cache in the background.
+     *
+     * @return a future which completes with the new contents, or with {@code null} if the cached copy was already up-to-date or the
+     * download failed
+     */
+    public CompletableFuture<byte[]> refresh(String path, String url) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                byte[] b = this.download(path, url);
+                this.saveManifest();
+                return b;
             } catch (IOException e) {
+                FMLLog.log.warn("Unable to refresh resource: {}", url, e);
+                return null;
+            }
+        }, EXECUTOR);
+    }
+
+    protected CompletableFuture<byte[]> fetch(String path) {
+        return this.fetches.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> {
+            try {
+                File cached = this.cacheFile(p);
                 if (cached.exists()) {
-                    //attempt to load from cache if error occurred while loading
-                    baos.reset();
-                    try (InputStream in = new BufferedInputStream(new FileInputStream(cached))) {
-                        int i;
-                        while ((i = in.read()) != -1)   {
-                            baos.write(i);
-                        }
-                    } catch (IOException e1) {
-                        throw new RuntimeException(e1);
-                    }
-                } else {
-                    throw new RuntimeException(e);
+                    return Files.readAllBytes(cached.toPath());
                 }
+                byte[] b = this.download(p);
+                this.saveManifest();
+                return b;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            byte[] b = baos.toByteArray();
-            try {
-                //write to cache
-                if (!cached.exists()) {
-                    File parent = cached.getParentFile();
-                    if (!parent.exists() && !parent.mkdirs())   {
-                        throw new IllegalStateException(String.format("Unable to create directory: %s", parent.getAbsolutePath()));
-                    } else if (!cached.createNewFile()) {
-                        throw new IllegalStateException(String.format("Unable to create file: %s", cached.getAbsolutePath()));
-                    }
+        }, EXECUTOR));
+    }
+
+    /**
+     * Downloads a resource into the cache.
+     *
+     * @return the new contents of the resource, or {@code null} if the cached copy is already up-to-date
+     */
+    protected byte[] download(String path) throws IOException {
+        return this.download(path, this.urlFor(path));
+    }
+
+    protected byte[] download(String path, String url) throws IOException {
+        File cached = this.cacheFile(path);
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+
+        byte[] b;
+        CacheEntry validators = null;
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            CacheEntry entry = cached.exists() ? this.manifest.get(path) : null;
+            if (entry != null) {
+                if (entry.etag != null) {
+                    http.setRequestProperty("If-None-Match", entry.etag);
                 }
-                try (OutputStream out = new FileOutputStream(cached))   {
-                    out.write(b);
+                if (entry.lastModified != 0L) {
+                    http.setIfModifiedSince(entry.lastModified);
                 }
+            }
+
+            int code = http.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+                http.getInputStream().close();
+                return null;
+            } else if (code != HttpURLConnection.HTTP_OK) {
+                http.disconnect();
+                throw new IOException(String.format("Server returned %d for %s", code, path));
+            }
+
+            try (InputStream in = http.getInputStream()) {
+                b = readFully(in, http.getContentLength());
+            }
+            validators = new CacheEntry(http.getHeaderField("ETag"), http.getLastModified());
+        } else {
+            //local files in a dev environment, just compare the contents
+            try (InputStream in = connection.getInputStream()) {
+                b = readFully(in, connection.getContentLength());
+            }
+            if (cached.exists() && Arrays.equals(b, Files.readAllBytes(cached.toPath()))) {
+                return null;
+            }
+        }
+
+        writeAtomic(cached, b);
+        if (validators != null) {
+            //only remember the validators once the file is actually on disk, otherwise a failed write would be answered with 304 forever
+            this.manifest.put(path, validators);
+        }
+        return b;
+    }
+
+    protected String urlFor(String path) {
+        if (ROOT_PATH.equals(path)) {
+            return this.remote ? this.resourcesUrl : localUrl("resources.json");
+        } else {
+            return this.baseUrl + path;
+        }
+    }
+
+    protected File cacheFile(String path) {
+        return new File(this.cache, path.replace('/', File.separatorChar));
+    }
+
+    protected static String localUrl(String path) {
+        String base = new File("../resources/").getAbsoluteFile().toURI().toString();
+        return base.endsWith("/") ? base + path : base + '/' + path;
+    }
+
+    protected static byte[] readFully(InputStream in, int sizeHint) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(sizeHint > 0 ? sizeHint : BUFFER_SIZE);
+        byte[] buf = new byte[BUFFER_SIZE];
+        for (int i; (i = in.read(buf)) != -1; ) {
+            baos.write(buf, 0, i);
+        }
+        return baos.toByteArray();
+    }
+
+    protected static void writeAtomic(File file, byte[] b) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException(String.format("Unable to create directory: %s", parent.getAbsolutePath()));
+        }
+        File tmp = new File(parent, file.getName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+            out.write(b);
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    protected void loadManifest() {
+        File file = new File(this.cache, MANIFEST_NAME);
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            JsonObject json = this.readJson(Files.readAllBytes(file.toPath()));
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                JsonObject object = entry.getValue().getAsJsonObject();
+                this.manifest.put(entry.getKey(), new CacheEntry(
+                        object.has("etag") ? object.get("etag").getAsString() : null,
+                        object.has("lastModified") ? object.get("lastModified").getAsLong() : 0L
+                ));
+            }
+        } catch (Exception e) {
+            //a broken manifest only means that everything gets transferred again
+            FMLLog.log.warn("Unable to read resource cache manifest", e);
+            this.manifest.clear();
+        }
+    }
+
+    protected void saveManifest() {
+        synchronized (this.manifestLock) {
+            JsonObject json = new JsonObject();
+            this.manifest.forEach((path, entry) -> {
+                JsonObject object = new JsonObject();
+                if (entry.etag != null) {
+                    object.addProperty("etag", entry.etag);
+                }
+                object.addProperty("lastModified", entry.lastModified);
+                json.add(path, object);
+            });
+            try {
+                writeAtomic(new File(this.cache, MANIFEST_NAME), json.toString().getBytes(StandardCharsets.UTF_8));
             } catch (IOException e) {
-                throw new RuntimeException(e);
+                FMLLog.log.warn("Unable to write resource cache manifest", e);
             }
-            return b;
-        } catch (RuntimeException e)   {
-                e.printStackTrace();
+        }
+    }
+
+    protected byte[] read(String path)  {
+        try {
+            return this.fetch(path).join();
+        } catch (CompletionException e)   {
+            e.printStackTrace();
             JOptionPane.showMessageDialog(
                     null,
                     String.format("Unable to load resource: \"%s\"", path),
@@ -244,11 +532,25 @@ public class DataLoader {
         return this.readJson(this.read(path));
     }
 
+    protected int addIcon(List<CompletableFuture<byte[]>> icons, String path) {
+        icons.add(this.fetch(path));
+        return icons.size() - 1;
+    }
+
     protected Texture readTexture(String path) {
-        try {
-            return new Texture(this.read(path));
-        } catch (IOException e) {
-            throw new RuntimeException(String.format("Unable to parse texture: %s", path), e);
+        return new Texture(this.fetch(path), EXECUTOR);
+    }
+
+    /**
+     * Validators for a cached resource, as last sent by the server.
+     */
+    protected static final class CacheEntry {
+        protected final String etag;
+        protected final long lastModified;
+
+        protected CacheEntry(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
         }
     }
 }
@@ -21,6 +21,7 @@
 package net.daporkchop.pepsimod.misc.data;
 
 import net.daporkchop.pepsimod.util.render.Texture;
+import net.minecraft.util.ResourceLocation;
 
 import java.util.Collections;
 import java.util.Objects;
@@ -41,29 +42,33 @@ public class Group implements AutoCloseable {
     public final Set<UUID> members;
     public final int color;
     public final AtomicReference<Texture> cape = new AtomicReference<>(null);
-    public final AtomicReference<Texture> icon = new AtomicReference<>(null);
+    /**
+     * This group's slot in the {@link IconAtlas}, or {@code -1} if it has no icon.
+     */
+    public final int iconSlot;
 
-    public Group(String id, String name, Set<UUID> members, int color, Texture cape, Texture icon) {
+    public Group(String id, String name, Set<UUID> members, int color, Texture cape, int iconSlot) {
         this.id = Objects.requireNonNull(id, "id");
         this.name = name == null ? id : name;
         this.members = Collections.unmodifiableSet(Objects.requireNonNull(members, "members"));
         this.color = color & 0xFFFFFF;
         this.cape.set(cape);
-        this.icon.set(icon);
+        this.iconSlot = iconSlot;
     }
 
     public void doWithCapeIfPresent(Consumer<Texture> callback) {
         Texture cape = this.cape.get();
-        if (cape != null) {
+        if (cape != null && cape.isReady()) {
             callback.accept(cape);
         }
     }
 
-    public void doWithIconIfPresent(Consumer<Texture> callback) {
-        Texture icon = this.icon.get();
-        if (icon != null) {
-            callback.accept(icon);
-        }
+    /**
+     * @return the location of this group's cape texture, or {@code null} if it has none or it hasn't been loaded yet
+     */
+    public ResourceLocation getCapeLocation() {
+        Texture cape = this.cape.get();
+        return cape != null && cape.isReady() ? cape.texture : null;
     }
 
     @Override
@@ -74,11 +79,5 @@ public class Group implements AutoCloseable {
             }
             return null;
         });
-        this.icon.updateAndGet(loc -> {
-            if (loc != null) {
-                loc.close();
-            }
-            return null;
-        });
     }
 }
@@ -33,6 +33,7 @@ import java.util.UUID;
 public class Groups implements AutoCloseable {
     protected Map<UUID, Group> playerToGroup = Collections.emptyMap();
     protected Collection<Group> groups = Collections.emptyList();
+    public IconAtlas icons;
 
     public void addGroup(Group group) {
         if (this.groups.isEmpty()) {
@@ -52,6 +53,9 @@ public class Groups implements AutoCloseable {
     @Override
     public void close() {
         this.groups.forEach(Group::close);
+        if (this.icons != null) {
+            this.icons.close();
+        }
 
         this.playerToGroup.clear();
         this.groups.clear();
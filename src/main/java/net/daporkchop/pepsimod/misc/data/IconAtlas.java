@@ -0,0 +1,145 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.misc.data;
+
+import net.daporkchop.pepsimod.util.render.Texture;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.WorldVertexBufferUploader;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraftforge.fml.common.FMLLog;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * All group icons packed into a single texture, so that the icons for an entire tab list can be drawn with one bind and one draw call.
+ * <p>
+ * Icons are decoded in parallel and laid out on a grid of equally-sized cells. Quads are collected with {@link #add(int, float, float, float, float)}
+ * while the tab list is being rendered and drawn all at once by {@link #draw()}.
+ *
+ * @author DaPorkchop_
+ */
+public class IconAtlas extends Texture {
+    private static final BufferBuilder BUFFER = new BufferBuilder(0x1000);
+    private static final WorldVertexBufferUploader UPLOADER = new WorldVertexBufferUploader();
+
+    /**
+     * The texture coordinates of each slot, 4 floats (minU, minV, maxU, maxV) per slot. An icon which failed to load has {@code NaN} coordinates.
+     */
+    protected final float[] uvs;
+    protected boolean drawing;
+
+    /**
+     * @param icons    the encoded image data for each slot
+     * @param executor the executor to decode the icons on
+     */
+    @SuppressWarnings("unchecked")
+    public IconAtlas(List<? extends CompletionStage<byte[]>> icons, Executor executor) {
+        this.uvs = new float[icons.size() << 2];
+
+        CompletableFuture<BufferedImage>[] images = icons.stream()
+                .map(icon -> icon.thenApplyAsync(Texture::decode, executor).toCompletableFuture())
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(images).handleAsync((v, t) -> {
+            this.pack(images);
+            return null;
+        }, executor);
+    }
+
+    protected void pack(CompletableFuture<BufferedImage>[] images) {
+        BufferedImage[] decoded = new BufferedImage[images.length];
+        int cell = 1;
+        for (int i = 0; i < images.length; i++) {
+            try {
+                decoded[i] = images[i].join();
+                cell = Math.max(cell, Math.max(decoded[i].getWidth(), decoded[i].getHeight()));
+            } catch (Exception e) {
+                FMLLog.log.error("Unable to load group icon #{}", i, e);
+            }
+        }
+
+        int columns = Math.max((int) Math.ceil(Math.sqrt(images.length)), 1);
+        int rows = Math.max((images.length + columns - 1) / columns, 1);
+        int width = columns * cell;
+        int height = rows * cell;
+        int[] pixels = new int[width * height];
+
+        for (int i = 0; i < decoded.length; i++) {
+            BufferedImage img = decoded[i];
+            if (img == null) {
+                this.uvs[(i << 2)] = Float.NaN;
+                continue;
+            }
+            int x = (i % columns) * cell;
+            int y = (i / columns) * cell;
+            img.getRGB(0, 0, img.getWidth(), img.getHeight(), pixels, y * width + x, width);
+
+            this.uvs[(i << 2)] = x / (float) width;
+            this.uvs[(i << 2) + 1] = y / (float) height;
+            this.uvs[(i << 2) + 2] = (x + img.getWidth()) / (float) width;
+            this.uvs[(i << 2) + 3] = (y + img.getHeight()) / (float) height;
+        }
+
+        this.submit(width, height, pixels);
+    }
+
+    /**
+     * Adds the icon in the given slot to the current batch. Does nothing if the atlas hasn't been uploaded yet, or if the slot doesn't
+     * belong to this atlas.
+     */
+    public void add(int slot, float x, float y, float width, float height) {
+        if (!this.ready || slot < 0 || (slot << 2) >= this.uvs.length || Float.isNaN(this.uvs[slot << 2])) {
+            return;
+        } else if (!this.drawing) {
+            this.drawing = true;
+            BUFFER.begin(GL_QUADS, DefaultVertexFormats.POSITION_TEX);
+        }
+
+        float minU = this.uvs[(slot << 2)];
+        float minV = this.uvs[(slot << 2) + 1];
+        float maxU = this.uvs[(slot << 2) + 2];
+        float maxV = this.uvs[(slot << 2) + 3];
+        BUFFER.pos(x, y + height, 0.0d).tex(minU, maxV).endVertex();
+        BUFFER.pos(x + width, y + height, 0.0d).tex(maxU, maxV).endVertex();
+        BUFFER.pos(x + width, y, 0.0d).tex(maxU, minV).endVertex();
+        BUFFER.pos(x, y, 0.0d).tex(minU, minV).endVertex();
+    }
+
+    /**
+     * Draws all icons added since the last call to this method.
+     */
+    public void draw() {
+        if (this.drawing) {
+            this.drawing = false;
+            BUFFER.finishDrawing();
+            GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
+            GlStateManager.enableBlend();
+            this.bindTexture();
+            UPLOADER.draw(BUFFER);
+        }
+    }
+}
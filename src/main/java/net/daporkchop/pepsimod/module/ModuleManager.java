@@ -21,25 +21,52 @@
 package net.daporkchop.pepsimod.module;
 
 import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.api.ModuleHook;
 import net.daporkchop.pepsimod.module.api.ModuleSortType;
 import net.daporkchop.pepsimod.util.PepsiUtils;
 import net.daporkchop.pepsimod.util.config.impl.GeneralTranslator;
 import net.minecraft.network.Packet;
+import org.apache.commons.lang3.ArrayUtils;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class ModuleManager {
+    private static final Module[] EMPTY_MODULES = new Module[0];
+    private static final Comparator<Module> ALPHABETICAL_ORDER = (a, b) -> a.name.compareTo(b.name);
+    private static final Comparator<Module> SIZE_ORDER = (a, b) -> {
+        int d = Integer.compare(b.text == null ? 0 : b.text.width(), a.text == null ? 0 : a.text.width());
+        return d == 0 ? a.name.compareTo(b.name) : d;
+    };
+
+    /*
+     * All of the module lists below are immutable snapshots which are replaced wholesale whenever they change. This
+     * allows them to be read from any thread (e.g. the netty event loop) without locking, while all writes are
+     * serialized by synchronizing on ModuleManager.
+     */
 
     /**
      * All modules that are registered
      */
-    public static ArrayList<Module> AVALIBLE_MODULES = new ArrayList<>();
+    public static volatile Module[] AVALIBLE_MODULES = EMPTY_MODULES;
 
     /**
      * All modules that are currently enabled
      */
-    public static ArrayList<Module> ENABLED_MODULES = new ArrayList<>();
+    public static volatile Module[] ENABLED_MODULES = EMPTY_MODULES;
+
+    /**
+     * All modules that are currently enabled and override a given {@link ModuleHook}, indexed by {@link ModuleHook#ordinal()}
+     */
+    public static volatile Module[][] HOOKED_MODULES = new Module[ModuleHook.VALUES.length][0];
+
+    /**
+     * The packet listeners for each packet {@link ModuleHook}, indexed by {@link ModuleHook#ordinal()}. Entries for hooks
+     * which aren't packet hooks are {@code null}.
+     */
+    public static volatile PacketListeners[] PACKET_LISTENERS = buildPacketListeners(HOOKED_MODULES);
 
     /**
      * Adds a module to the registry
@@ -47,9 +74,9 @@ public class ModuleManager {
      * @param toRegister the Module to register
      * @return the Module passed to the function
      */
-    public static Module registerModule(Module toRegister) {
+    public static synchronized Module registerModule(Module toRegister) {
         if (toRegister.shouldRegister()) {
-            AVALIBLE_MODULES.add(toRegister);
+            AVALIBLE_MODULES = ArrayUtils.add(AVALIBLE_MODULES, toRegister);
             if (toRegister.state.enabled) {
                 enableModule(toRegister);
             } else {
@@ -65,10 +92,10 @@ public class ModuleManager {
         }
     }
 
-    public static void unRegister(Module module) {
-        if (AVALIBLE_MODULES.contains(module)) {
-            AVALIBLE_MODULES.remove(module);
-            ENABLED_MODULES.remove(module);
+    public static synchronized void unRegister(Module module) {
+        if (ArrayUtils.contains(AVALIBLE_MODULES, module)) {
+            AVALIBLE_MODULES = ArrayUtils.removeElement(AVALIBLE_MODULES, module);
+            setEnabledModules(ArrayUtils.removeElement(ENABLED_MODULES, module));
         }
     }
 
@@ -78,11 +105,12 @@ public class ModuleManager {
      * @param toEnable the module to enable
      * @return the enabled module
      */
-    public static Module enableModule(Module toEnable) {
-        if (!ENABLED_MODULES.contains(toEnable)) {
-            if (AVALIBLE_MODULES.contains(toEnable)) {
-                ENABLED_MODULES.add(toEnable);
+    public static synchronized Module enableModule(Module toEnable) {
+        if (!ArrayUtils.contains(ENABLED_MODULES, toEnable)) {
+            if (ArrayUtils.contains(AVALIBLE_MODULES, toEnable)) {
+                setEnabledModules(insertSorted(ENABLED_MODULES, toEnable));
                 toEnable.setEnabled(true);
+                toEnable.updateName();
             } else {
                 throw new IllegalStateException("Attempted to enable an unregistered Module!");
             }
@@ -96,10 +124,10 @@ public class ModuleManager {
      * @param toDisable the module to disable
      * @return the disabled module
      */
-    public static Module disableModule(Module toDisable) {
-        if (toDisable.state.enabled && ENABLED_MODULES.contains(toDisable)) {
-            if (AVALIBLE_MODULES.contains(toDisable)) {
-                ENABLED_MODULES.remove(toDisable);
+    public static synchronized Module disableModule(Module toDisable) {
+        if (toDisable.state.enabled && ArrayUtils.contains(ENABLED_MODULES, toDisable)) {
+            if (ArrayUtils.contains(AVALIBLE_MODULES, toDisable)) {
+                setEnabledModules(ArrayUtils.removeElement(ENABLED_MODULES, toDisable));
                 toDisable.setEnabled(false);
             } else {
                 throw new IllegalStateException("Attempted to disable an unregistered Module!");
@@ -114,7 +142,7 @@ public class ModuleManager {
      * @param toToggle the module to toggle
      * @return the toggled module
      */
-    public static Module toggleModule(Module toToggle) {
+    public static synchronized Module toggleModule(Module toToggle) {
         if (toToggle.state.enabled) {
             disableModule(toToggle);
         } else {
@@ -123,6 +151,67 @@ public class ModuleManager {
         return toToggle;
     }
 
+    /**
+     * Gets all enabled modules that override a given hook
+     *
+     * @param hook the hook
+     * @return all enabled modules that override the hook
+     */
+    public static Module[] getHooked(ModuleHook hook) {
+        return HOOKED_MODULES[hook.ordinal()];
+    }
+
+    /**
+     * Gets all enabled modules that listen for a given packet in a given packet hook
+     *
+     * @param hook   the packet hook
+     * @param packet the packet
+     * @return all enabled modules that listen for the packet
+     */
+    public static Module[] getPacketListeners(ModuleHook hook, Packet<?> packet) {
+        return PACKET_LISTENERS[hook.ordinal()].get(packet);
+    }
+
+    private static PacketListeners[] buildPacketListeners(Module[][] hooked) {
+        PacketListeners[] listeners = new PacketListeners[ModuleHook.VALUES.length];
+        for (ModuleHook hook : ModuleHook.VALUES) {
+            if (hook.isPacketHook()) {
+                listeners[hook.ordinal()] = new PacketListeners(hooked[hook.ordinal()], hook.isSendHook());
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * Publishes a new snapshot of the enabled modules, along with the matching {@link #HOOKED_MODULES} and
+     * {@link #PACKET_LISTENERS}
+     * <p>
+     * Must only be called while holding the lock on ModuleManager.
+     *
+     * @param enabled the modules that are now enabled. Must not be modified afterwards!
+     */
+    private static void setEnabledModules(Module[] enabled) {
+        Module[][] hooked = new Module[ModuleHook.VALUES.length][];
+        for (ModuleHook hook : ModuleHook.VALUES) {
+            int count = 0;
+            for (Module module : enabled) {
+                if (hook.isIn(module.hooks)) {
+                    count++;
+                }
+            }
+            Module[] modules = hooked[hook.ordinal()] = new Module[count];
+            count = 0;
+            for (Module module : enabled) {
+                if (hook.isIn(module.hooks)) {
+                    modules[count++] = module;
+                }
+            }
+        }
+        ENABLED_MODULES = enabled;
+        HOOKED_MODULES = hooked;
+        PACKET_LISTENERS = buildPacketListeners(hooked);
+    }
+
     /**
      * Gets a module by it's name
      *
@@ -139,64 +228,78 @@ public class ModuleManager {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    public static void sortModules(ModuleSortType type) {
+    /**
+     * Gets the comparator used to order the enabled modules for a given sort type
+     *
+     * @param type the sort type
+     * @return the comparator, or {@code null} if the sort type doesn't have a fixed order
+     */
+    public static Comparator<Module> getComparator(ModuleSortType type) {
+        switch (type) {
+            case ALPHABETICAL:
+                return ALPHABETICAL_ORDER;
+            case SIZE:
+                return SIZE_ORDER;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Inserts a module into a sorted snapshot of modules, keeping it sorted according to the current sort type
+     *
+     * @param modules the current modules
+     * @param module  the module to insert
+     * @return a new snapshot containing the module
+     */
+    private static Module[] insertSorted(Module[] modules, Module module) {
+        ModuleSortType type = GeneralTranslator.INSTANCE.sortType;
+        Comparator<Module> comparator = getComparator(type);
+        int index;
+        if (comparator != null) {
+            index = Arrays.binarySearch(modules, module, comparator);
+            if (index < 0) {
+                index = -index - 1;
+            }
+        } else if (type == ModuleSortType.RANDOM) {
+            index = ThreadLocalRandom.current().nextInt(modules.length + 1);
+        } else {
+            index = modules.length;
+        }
+        return ArrayUtils.add(modules, index, module);
+    }
+
+    /**
+     * Notifies the module manager that a module's display name has changed width
+     *
+     * @param module the module
+     */
+    public static synchronized void onModuleResized(Module module) {
+        if (GeneralTranslator.INSTANCE.sortType == ModuleSortType.SIZE && ArrayUtils.contains(ENABLED_MODULES, module)) {
+            sortModules(ModuleSortType.SIZE);
+        }
+    }
+
+    public static synchronized void sortModules(ModuleSortType type) {
         GeneralTranslator.INSTANCE.sortType = type;
+        Module[] sorted = ENABLED_MODULES.clone();
         switch (type) {
             case ALPHABETICAL:
-                ArrayList<Module> tempArrayList = (ArrayList<Module>) ENABLED_MODULES.clone();
-                ArrayList<Module> newArrayList = new ArrayList<>();
-                ESCAPE:
-                for (Module module : tempArrayList) {
-                    for (int i = 0; i < newArrayList.size(); i++) {
-                        if (module.name.compareTo(newArrayList.get(i).name) < 0) {
-                            newArrayList.add(i, module);
-                            continue ESCAPE;
-                        }
-                    }
-                    newArrayList.add(module);
-                }
-                ENABLED_MODULES = newArrayList;
-                break;
-            case DEFAULT: //hehe do nothing lol
-                break;
             case SIZE:
-                ArrayList<Module> tempArrayList1 = (ArrayList<Module>) ENABLED_MODULES.clone();
-                ArrayList<Module> newArrayList1 = new ArrayList<>();
-                ESCAPE:
-                for (Module module : tempArrayList1) {
-                    if (module.text == null) {
-                        return;
-                    }
-                    for (int i = 0; i < newArrayList1.size(); i++) {
-                        Module existingModule = newArrayList1.get(i);
-                        if (module.text.width() > existingModule.text.width()) {
-                            newArrayList1.add(i, module);
-                            continue ESCAPE;
-                        } else if (module.text.width() == existingModule.text.width()) {
-                            if (module.name.compareTo(existingModule.name) < 0) {
-                                newArrayList1.add(i, module);
-                                continue ESCAPE;
-                            }
-                        }
-                    }
-                    newArrayList1.add(module);
-                }
-                ENABLED_MODULES = newArrayList1;
+                Arrays.sort(sorted, getComparator(type));
                 break;
+            case DEFAULT: //hehe do nothing lol
+                return;
             case RANDOM:
-                ArrayList<Module> tempArrayList2 = (ArrayList<Module>) ENABLED_MODULES.clone();
-                ArrayList<Module> newArrayList2 = new ArrayList<>();
-                for (Module module : tempArrayList2) {
-                    newArrayList2.add(ThreadLocalRandom.current().nextInt(newArrayList2.size()), module);
-                }
-                ENABLED_MODULES = newArrayList2;
+                Collections.shuffle(Arrays.asList(sorted));
+                break;
         }
+        setEnabledModules(sorted);
     }
 
     public static boolean preRecievePacket(Packet<?> packetIn) {
         boolean cancel = false;
-        for (Module module : ENABLED_MODULES) {
+        for (Module module : getPacketListeners(ModuleHook.PRE_RECIEVE_PACKET, packetIn)) {
             if (module.preRecievePacket(packetIn)) {
                 cancel = true;
             }
@@ -205,14 +308,14 @@ public class ModuleManager {
     }
 
     public static void postRecievePacket(Packet<?> packetIn) {
-        for (Module module : ENABLED_MODULES) {
+        for (Module module : getPacketListeners(ModuleHook.POST_RECIEVE_PACKET, packetIn)) {
             module.postRecievePacket(packetIn);
         }
     }
 
     public static boolean preSendPacket(Packet<?> packetIn) {
         boolean cancel = false;
-        for (Module module : ENABLED_MODULES) {
+        for (Module module : getPacketListeners(ModuleHook.PRE_SEND_PACKET, packetIn)) {
             if (module.preSendPacket(packetIn)) {
                 cancel = true;
             }
@@ -221,7 +324,7 @@ public class ModuleManager {
     }
 
     public static void postSendPacket(Packet<?> packetIn) {
-        for (Module module : ENABLED_MODULES) {
+        for (Module module : getPacketListeners(ModuleHook.POST_SEND_PACKET, packetIn)) {
             module.postSendPacket(packetIn);
         }
     }
@@ -0,0 +1,102 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.module;
+
+import net.daporkchop.pepsimod.module.api.Module;
+import net.minecraft.network.Packet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps packet classes to the modules that want to listen for them in a single packet hook.
+ * <p>
+ * The modules for a given packet class are computed the first time a packet of that class is seen and cached
+ * afterwards, so packets that no module cares about only cost a single map lookup. Instances are immutable apart
+ * from the cache, and are replaced whenever the set of enabled modules changes.
+ *
+ * @author DaPorkchop_
+ */
+public final class PacketListeners {
+    private static final Module[] EMPTY_MODULES = new Module[0];
+
+    private final Module[] modules;
+    private final Class<?>[][] types;
+    private final Map<Class<?>, Module[]> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param modules the enabled modules which override the packet hook
+     * @param sent    whether the hook is for sent packets ({@code true}) or received packets ({@code false})
+     */
+    public PacketListeners(Module[] modules, boolean sent) {
+        this.modules = modules;
+        this.types = new Class<?>[modules.length][];
+        for (int i = 0; i < modules.length; i++) {
+            this.types[i] = sent ? modules[i].getSentPacketTypes() : modules[i].getRecievedPacketTypes();
+        }
+    }
+
+    /**
+     * Gets all modules that listen for a given packet.
+     *
+     * @param packet the packet
+     * @return all modules that listen for the packet
+     */
+    public Module[] get(Packet<?> packet) {
+        Class<?> clazz = packet.getClass();
+        Module[] listeners = this.cache.get(clazz);
+        if (listeners == null) {
+            listeners = this.cache.computeIfAbsent(clazz, this::compute);
+        }
+        return listeners;
+    }
+
+    private Module[] compute(Class<?> clazz) {
+        boolean[] matches = new boolean[this.modules.length];
+        int count = 0;
+        for (int i = 0; i < this.modules.length; i++) {
+            if (this.types[i] == null) {
+                matches[i] = true;
+            } else {
+                for (Class<?> type : this.types[i]) {
+                    if (type.isAssignableFrom(clazz)) {
+                        matches[i] = true;
+                        break;
+                    }
+                }
+            }
+            if (matches[i]) {
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return EMPTY_MODULES;
+        }
+        Module[] listeners = new Module[count];
+        for (int i = 0, j = 0; i < this.modules.length; i++) {
+            if (matches[i]) {
+                listeners[j++] = this.modules[i];
+            }
+        }
+        return listeners;
+    }
+}
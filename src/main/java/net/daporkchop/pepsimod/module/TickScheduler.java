@@ -0,0 +1,70 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.module;
+
+import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.util.misc.TickPhase;
+
+import static net.daporkchop.pepsimod.util.PepsiConstants.mc;
+import static net.daporkchop.pepsimod.util.PepsiConstants.mcStartedSuccessfully;
+
+/**
+ * Dispatches {@link Module#tick()} to all modules that want to be ticked in a given {@link TickPhase}, and
+ * records the time each module spends doing so in its {@link Module#tickBudget}.
+ *
+ * @author DaPorkchop_
+ */
+public class TickScheduler {
+    /**
+     * Whether or not modules should currently be ticked at all
+     */
+    public static boolean isIngame() {
+        return mcStartedSuccessfully && mc.player != null && mc.player.movementInput != null;
+    }
+
+    /**
+     * Ticks all modules registered for the given phase
+     *
+     * @param phase the phase that is currently running
+     */
+    public static void tick(TickPhase phase) {
+        if (!isIngame()) {
+            return;
+        }
+
+        for (Module module : ModuleManager.AVALIBLE_MODULES) {
+            if (module.getTickPhase() == phase && module.shouldTick()) {
+                long start = System.nanoTime();
+                module.tick();
+                module.tickBudget.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Resets the tick budgets of all registered modules
+     */
+    public static void resetBudgets() {
+        for (Module module : ModuleManager.AVALIBLE_MODULES) {
+            module.tickBudget.reset();
+        }
+    }
+}
@@ -61,6 +61,13 @@ public abstract class Module extends Command implements ITickListener {
     public String nameFull;
     public String[] completionOptions;
     public GeneralTranslator.ModuleState state;
+    public final TickBudget tickBudget = new TickBudget();
+    /**
+     * A bitmask of the {@link ModuleHook}s that this module overrides
+     */
+    public final int hooks = ModuleHook.getOverriddenHooks(this.getClass());
+    private String textMode;
+    private boolean textRainbow;
 
     public Module(String name) {
         this(false, name, -1, false);
@@ -70,6 +77,9 @@ public abstract class Module extends Command implements ITickListener {
         super(name.toLowerCase());
         this.nameFull = name;
         this.options = this.getDefaultOptions();
+        for (ModuleOption option : this.options) {
+            option.module = this;
+        }
         this.registerKeybind(name, keybind);
         this.state = GeneralTranslator.INSTANCE.getState(name, new GeneralTranslator.ModuleState(def, hide));
         if (this.state == null) {
@@ -196,6 +206,30 @@ public abstract class Module extends Command implements ITickListener {
     public void postSendPacket(Packet<?> packetIn) {
     }
 
+    /**
+     * Gets the types of packets that should be passed to {@link #preRecievePacket(Packet)} and
+     * {@link #postRecievePacket(Packet)}. Subclasses of the given types will be passed as well.
+     * <p>
+     * Only called when the module is enabled, so the returned value must not change while the module is enabled.
+     *
+     * @return the packet types to listen for, or {@code null} to listen for all packets
+     */
+    public Class<?>[] getRecievedPacketTypes() {
+        return null;
+    }
+
+    /**
+     * Gets the types of packets that should be passed to {@link #preSendPacket(Packet)} and
+     * {@link #postSendPacket(Packet)}. Subclasses of the given types will be passed as well.
+     * <p>
+     * Only called when the module is enabled, so the returned value must not change while the module is enabled.
+     *
+     * @return the packet types to listen for, or {@code null} to listen for all packets
+     */
+    public Class<?>[] getSentPacketTypes() {
+        return null;
+    }
+
     /**
      * Whether or not extra info should show in the name
      * e.g.
@@ -216,16 +250,38 @@ public abstract class Module extends Command implements ITickListener {
         return "";
     }
 
+    /**
+     * Whether or not the value returned by {@link #getModeForName()} can change without any of this module's options
+     * being changed (e.g. because it depends on the server's TPS)
+     * <p>
+     * If {@code false}, the name is only updated when one of this module's options is changed.
+     */
+    public boolean hasDynamicName() {
+        return false;
+    }
+
     /**
      * Updates the module's name
-     * Does nothing if the module has no custom name
+     * Does nothing if the module has no custom name, or if the name hasn't changed since the last update
      */
     public void updateName() {
         if (pepsimod.isInitialized && this.hasModeInName()) {
-            if (HUDTranslator.INSTANCE.rainbow) {
-                this.text = new RainbowText(this.nameFull + PepsiUtils.COLOR_ESCAPE + "customa8a8a8 [" + this.getModeForName() + "]");
+            String mode = this.getModeForName();
+            boolean rainbow = HUDTranslator.INSTANCE.rainbow;
+            if (this.text != null && rainbow == this.textRainbow && mode.equals(this.textMode)) {
+                return;
+            }
+            this.textMode = mode;
+            this.textRainbow = rainbow;
+
+            int oldWidth = this.text == null ? -1 : this.text.width();
+            if (rainbow) {
+                this.text = new RainbowText(this.nameFull + PepsiUtils.COLOR_ESCAPE + "customa8a8a8 [" + mode + "]");
             } else {
-                this.text = new RainbowText(this.nameFull + PepsiUtils.COLOR_ESCAPE + "7 [" + this.getModeForName() + "]");
+                this.text = new RainbowText(this.nameFull + PepsiUtils.COLOR_ESCAPE + "7 [" + mode + "]");
+            }
+            if (oldWidth != this.text.width()) {
+                ModuleManager.onModuleResized(this);
             }
         }
     }
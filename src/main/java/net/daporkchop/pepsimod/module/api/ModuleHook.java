@@ -0,0 +1,110 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.module.api;
+
+import net.daporkchop.pepsimod.util.event.MoveEvent;
+import net.daporkchop.pepsimod.util.render.WorldRenderer;
+import net.minecraft.client.gui.GuiIngame;
+import net.minecraft.network.Packet;
+
+/**
+ * The event hooks that a {@link Module} may override.
+ * <p>
+ * Modules which don't override a hook will never have it called, so modules which inherit the no-op default
+ * implementations from {@link Module} don't cost anything on the hot paths.
+ *
+ * @author DaPorkchop_
+ */
+public enum ModuleHook {
+    PRE_RECIEVE_PACKET("preRecievePacket", Packet.class),
+    POST_RECIEVE_PACKET("postRecievePacket", Packet.class),
+    PRE_SEND_PACKET("preSendPacket", Packet.class),
+    POST_SEND_PACKET("postSendPacket", Packet.class),
+    PLAYER_MOVE("onPlayerMove", MoveEvent.class),
+    RENDER("onRender", float.class),
+    RENDER_GUI("onRenderGUI", float.class, int.class, int.class, GuiIngame.class),
+    RENDER_OVERLAY("renderOverlay", WorldRenderer.class),
+    RENDER_WORLD("renderWorld", WorldRenderer.class);
+
+    public static final ModuleHook[] VALUES = values();
+
+    /**
+     * Finds all the hooks overridden by a given module class.
+     *
+     * @param clazz the module class
+     * @return a bitmask of the hooks overridden by the class, indexed by {@link #ordinal()}
+     */
+    public static int getOverriddenHooks(Class<? extends Module> clazz) {
+        int mask = 0;
+        for (ModuleHook hook : VALUES) {
+            if (hook.isOverriddenBy(clazz)) {
+                mask |= 1 << hook.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+
+    ModuleHook(String methodName, Class<?>... parameterTypes) {
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+    }
+
+    /**
+     * Checks whether or not a given module class overrides this hook.
+     *
+     * @param clazz the module class
+     * @return whether or not the class overrides this hook
+     */
+    public boolean isOverriddenBy(Class<? extends Module> clazz) {
+        try {
+            return clazz.getMethod(this.methodName, this.parameterTypes).getDeclaringClass() != Module.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(String.format("Unable to find hook method: %s", this.methodName), e);
+        }
+    }
+
+    /**
+     * @return whether or not this hook is called for network packets
+     */
+    public boolean isPacketHook() {
+        return this.parameterTypes.length == 1 && this.parameterTypes[0] == Packet.class;
+    }
+
+    /**
+     * @return whether or not this hook is called for packets sent by the client
+     */
+    public boolean isSendHook() {
+        return this == PRE_SEND_PACKET || this == POST_SEND_PACKET;
+    }
+
+    /**
+     * Checks whether or not this hook is set in a bitmask returned by {@link #getOverriddenHooks(Class)}.
+     *
+     * @param mask the bitmask
+     * @return whether or not this hook is set
+     */
+    public boolean isIn(int mask) {
+        return (mask & (1 << this.ordinal())) != 0;
+    }
+}
@@ -21,6 +21,7 @@
 package net.daporkchop.pepsimod.module.api;
 
 import net.daporkchop.pepsimod.module.api.option.OptionExtended;
+import net.daporkchop.pepsimod.util.config.Config;
 
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -33,6 +34,10 @@ public class ModuleOption<T> {
     public String displayName;
     public boolean makeButton = true;
     public OptionExtended extended = null;
+    /**
+     * The module that this option belongs to
+     */
+    public Module module;
     private T value;
     private String name;
 
@@ -66,7 +71,14 @@ public class ModuleOption<T> {
     }
 
     public boolean setValue(T value) {
-        return this.SET.apply(value);
+        if (this.SET.apply(value)) {
+            if (this.module != null) {
+                this.module.updateName();
+            }
+            Config.requestSave();
+            return true;
+        }
+        return false;
     }
 
     public T getValue() {
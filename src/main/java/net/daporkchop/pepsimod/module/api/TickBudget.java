@@ -0,0 +1,65 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.module.api;
+
+/**
+ * Keeps track of how much time a {@link Module} spends in {@link Module#tick()}.
+ *
+ * @author DaPorkchop_
+ */
+public final class TickBudget {
+    /**
+     * The time taken by the most recent call, in nanoseconds
+     */
+    public long lastNanos;
+
+    /**
+     * The longest time taken by a single call since the last reset, in nanoseconds
+     */
+    public long peakNanos;
+
+    /**
+     * The total time taken by all calls since the last reset, in nanoseconds
+     */
+    public long totalNanos;
+
+    /**
+     * The number of calls since the last reset
+     */
+    public long calls;
+
+    public void record(long nanos) {
+        this.lastNanos = nanos;
+        this.totalNanos += nanos;
+        this.calls++;
+        if (nanos > this.peakNanos) {
+            this.peakNanos = nanos;
+        }
+    }
+
+    public long getAverageNanos() {
+        return this.calls == 0L ? 0L : this.totalNanos / this.calls;
+    }
+
+    public void reset() {
+        this.lastNanos = this.peakNanos = this.totalNanos = this.calls = 0L;
+    }
+}
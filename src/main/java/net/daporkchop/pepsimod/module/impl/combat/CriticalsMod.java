@@ -81,6 +81,11 @@ public class CriticalsMod extends Module {
         return false;
     }
 
+    @Override
+    public Class<?>[] getSentPacketTypes() {
+        return new Class<?>[]{CPacketUseEntity.class};
+    }
+
     public void doCrit() {
         EntityPlayer player = Minecraft.getMinecraft().player;
 
@@ -26,12 +26,16 @@ import net.daporkchop.pepsimod.module.api.ModuleOption;
 import net.daporkchop.pepsimod.module.api.OptionCompletions;
 import net.daporkchop.pepsimod.module.api.option.ExtensionSlider;
 import net.daporkchop.pepsimod.module.api.option.ExtensionType;
+import net.daporkchop.pepsimod.util.EntityIndex;
 import net.daporkchop.pepsimod.util.config.impl.CrystalAuraTranslator;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityEnderCrystal;
 import net.minecraft.util.EnumHand;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * #totallyNotSkidded
  */
@@ -39,6 +43,7 @@ public class CrystalAuraMod extends Module {
     public static CrystalAuraMod INSTANCE;
     private long currentMS = 0L;
     private long lastMS = -1L;
+    private final List<Entity> entities = new ArrayList<>();
 
     {
         INSTANCE = this;
@@ -64,7 +69,9 @@ public class CrystalAuraMod extends Module {
 
         this.currentMS = System.nanoTime() / 1000000;
         if (this.hasDelayRun((long) (1000 / CrystalAuraTranslator.INSTANCE.speed))) {
-            for (Entity e : mc.world.loadedEntityList) {
+            List<Entity> entities = EntityIndex.getEntitiesInRadius(player, CrystalAuraTranslator.INSTANCE.range, this.entities);
+            for (int i = 0, size = entities.size(); i < size; i++) {
+                Entity e = entities.get(i);
                 if (player.getDistance(e) < CrystalAuraTranslator.INSTANCE.range) {
                     if (e instanceof EntityEnderCrystal) {
                         mc.playerController.attackEntity(player, e);
@@ -74,6 +81,7 @@ public class CrystalAuraMod extends Module {
                     }
                 }
             }
+            entities.clear();
         }
     }
 
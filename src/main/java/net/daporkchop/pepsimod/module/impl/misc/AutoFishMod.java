@@ -180,4 +180,9 @@ public class AutoFishMod extends Module {
             this.rightClick();
         }
     }
+
+    @Override
+    public Class<?>[] getRecievedPacketTypes() {
+        return new Class<?>[]{SPacketSoundEffect.class};
+    }
 }
@@ -88,6 +88,11 @@ public class AutoToolMod extends Module {
         return false;
     }
 
+    @Override
+    public Class<?>[] getSentPacketTypes() {
+        return new Class<?>[]{CPacketPlayerDigging.class};
+    }
+
     @Override
     public void init() {
         INSTANCE = this;
@@ -130,6 +130,11 @@ public class FreecamMod extends Module {
         return packetIn instanceof CPacketPlayer;
     }
 
+    @Override
+    public Class<?>[] getSentPacketTypes() {
+        return new Class<?>[]{CPacketPlayer.class};
+    }
+
     @Override
     public ModuleLaunchState getLaunchState() {
         return ModuleLaunchState.DISABLED;
@@ -31,8 +31,8 @@ import net.daporkchop.pepsimod.module.api.option.ExtensionSlider;
 import net.daporkchop.pepsimod.module.api.option.ExtensionType;
 import net.daporkchop.pepsimod.util.PepsiUtils;
 import net.daporkchop.pepsimod.util.ReflectionStuff;
+import net.daporkchop.pepsimod.util.colors.rainbow.RainbowBatch;
 import net.daporkchop.pepsimod.util.colors.rainbow.RainbowText;
-import net.daporkchop.pepsimod.util.config.impl.GeneralTranslator;
 import net.daporkchop.pepsimod.util.config.impl.HUDTranslator;
 import net.minecraft.client.gui.GuiChat;
 import net.minecraft.client.gui.GuiIngame;
@@ -69,11 +69,12 @@ public class HUDMod extends Module {
 
     @Override
     public void tick() {
+        //names of other modules are only updated when their options change
         for (Module module : ModuleManager.ENABLED_MODULES) {
-            module.updateName();
+            if (module.hasDynamicName()) {
+                module.updateName();
+            }
         }
-
-        ModuleManager.sortModules(GeneralTranslator.INSTANCE.sortType);
     }
 
     @Override
@@ -251,6 +252,9 @@ public class HUDMod extends Module {
 
     @Override
     public void onRenderGUI(float partialTicks, int width, int height, GuiIngame gui) {
+        //draw all rainbow text in a single pass
+        boolean batch = HUDTranslator.INSTANCE.rainbow && RainbowBatch.begin();
+
         if (HUDTranslator.INSTANCE.drawLogo) {
             if (HUDTranslator.INSTANCE.rainbow) {
                 PepsiUtils.PEPSI_NAME.drawAtPos(gui, 2, 2, 0);
@@ -261,9 +265,10 @@ public class HUDMod extends Module {
         }
 
         if (HUDTranslator.INSTANCE.arrayList) {
+            Module[] modules = ModuleManager.ENABLED_MODULES;
             if (HUDTranslator.INSTANCE.arrayListTop) {
-                for (int i = 0, j = 0; i < ModuleManager.ENABLED_MODULES.size(); i++) {
-                    Module module = ModuleManager.ENABLED_MODULES.get(i);
+                for (int i = 0, j = 0; i < modules.length; i++) {
+                    Module module = modules[i];
                     if (module.state.hidden) {
                         continue;
                     }
@@ -282,8 +287,8 @@ public class HUDMod extends Module {
                 }
             } else {
                 int j = mc.currentScreen instanceof GuiChat ? 14 : 0;
-                for (int i = 0; i < ModuleManager.ENABLED_MODULES.size(); i++) {
-                    Module module = ModuleManager.ENABLED_MODULES.get(i);
+                for (int i = 0; i < modules.length; i++) {
+                    Module module = modules[i];
                     if (module.state.hidden) {
                         continue;
                     }
@@ -302,6 +307,10 @@ public class HUDMod extends Module {
             }
         }
 
+        if (batch) {
+            RainbowBatch.end();
+        }
+
         int i = 0;
         if (HUDTranslator.INSTANCE.arrayListTop) {
             i = mc.currentScreen instanceof GuiChat ? 14 : 0;
@@ -29,6 +29,7 @@ import net.daporkchop.pepsimod.util.config.impl.NotificationsTranslator;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.network.play.server.SPacketSpawnPlayer;
+import org.apache.commons.lang3.ArrayUtils;
 import org.lwjgl.opengl.Display;
 
 import javax.imageio.ImageIO;
@@ -44,7 +45,7 @@ public class NotificationsMod extends Module {
     public static NotificationsMod INSTANCE;
 
     public static void sendNotification(String message, TrayIcon.MessageType type) {
-        if (!Display.isActive() && ModuleManager.ENABLED_MODULES.contains(INSTANCE)) {
+        if (!Display.isActive() && ArrayUtils.contains(ModuleManager.ENABLED_MODULES, INSTANCE)) {
             INSTANCE.trayIcon.displayMessage("pepsimod", message, type);
         }
     }
@@ -159,4 +160,9 @@ public class NotificationsMod extends Module {
             sendNotification(mc.getConnection().getPlayerInfo(((SPacketSpawnPlayer) packet).getUniqueId()).getGameProfile().getName() + " entered visual range!", TrayIcon.MessageType.INFO);
         }
     }
+
+    @Override
+    public Class<?>[] getRecievedPacketTypes() {
+        return new Class<?>[]{SPacketChat.class, SPacketSpawnPlayer.class};
+    }
 }
@@ -96,6 +96,11 @@ public class TimerMod extends Module {
         return TickRate.format.format(this.getMultiplier());
     }
 
+    @Override
+    public boolean hasDynamicName() {
+        return TimerTranslator.INSTANCE.tpsSync;
+    }
+
     public float getMultiplier() {
         if (this.state.enabled) {
             if (TimerTranslator.INSTANCE.tpsSync) {
@@ -221,6 +221,11 @@ public class JesusMod extends Module {
         return false;
     }
 
+    @Override
+    public Class<?>[] getSentPacketTypes() {
+        return new Class<?>[]{CPacketPlayer.class, CPacketVehicleMove.class};
+    }
+
     @Override
     public void init() {
         INSTANCE = this;
@@ -24,15 +24,18 @@ import net.daporkchop.pepsimod.module.ModuleCategory;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleOption;
 import net.daporkchop.pepsimod.module.api.OptionCompletions;
+import net.daporkchop.pepsimod.module.api.option.ExtensionSlider;
+import net.daporkchop.pepsimod.module.api.option.ExtensionType;
+import net.daporkchop.pepsimod.util.EntityIndex;
 import net.daporkchop.pepsimod.util.RenderColor;
 import net.daporkchop.pepsimod.util.config.impl.ESPTranslator;
 import net.daporkchop.pepsimod.util.config.impl.FriendsTranslator;
+import net.daporkchop.pepsimod.util.misc.EntityCategory;
 import net.daporkchop.pepsimod.util.render.WorldRenderer;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.monster.EntityGolem;
-import net.minecraft.entity.monster.EntityMob;
-import net.minecraft.entity.passive.EntityAnimal;
-import net.minecraft.entity.player.EntityPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class ESPMod extends Module {
     public static final RenderColor friendColor = new RenderColor(76, 144, 255, 255);
@@ -43,6 +46,8 @@ public class ESPMod extends Module {
 
     public static ESPMod INSTANCE;
 
+    protected final List<Entity> entities = new ArrayList<>();
+
     {
         INSTANCE = this;
     }
@@ -74,7 +79,10 @@ public class ESPMod extends Module {
             return;
         }
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        renderer.distance(ESPTranslator.INSTANCE.maxDistance, ESPTranslator.INSTANCE.lodDistance);
+        List<Entity> entities = EntityIndex.getEntitiesInView(renderer, Math.min((mc.gameSettings.renderDistanceChunks + 1) << 4, ESPTranslator.INSTANCE.maxDistance), this.entities);
+        for (int i = 0, size = entities.size(); i < size; i++) {
+            Entity entity = entities.get(i);
             if (entity == mc.player)    {
                 continue;
             }
@@ -83,6 +91,7 @@ public class ESPMod extends Module {
                 renderer.color(color).outline(entity);
             }
         }
+        entities.clear();
     }
 
     public RenderColor chooseColor(Entity entity) {
@@ -90,20 +99,22 @@ public class ESPMod extends Module {
             return null;
         } else if (entity.isInvisible() && !ESPTranslator.INSTANCE.invisible) {
             return null;
-        } else if (ESPTranslator.INSTANCE.animals && entity instanceof EntityAnimal) {
-            return animalColor;
-        } else if (ESPTranslator.INSTANCE.monsters && entity instanceof EntityMob) {
-            return monsterColor;
-        } else if (ESPTranslator.INSTANCE.players && entity instanceof EntityPlayer) {
-            if (ESPTranslator.INSTANCE.friendColors && FriendsTranslator.INSTANCE.isFriend(entity)) {
-                return friendColor;
-            } else {
-                return playerColor;
-            }
-        } else if (ESPTranslator.INSTANCE.golems && entity instanceof EntityGolem) {
-            return golemColor;
-        } else {
-            return null;
+        }
+
+        switch (EntityCategory.of(entity)) {
+            case ANIMAL:
+                return ESPTranslator.INSTANCE.animals ? animalColor : null;
+            case MONSTER:
+                return ESPTranslator.INSTANCE.monsters ? monsterColor : null;
+            case PLAYER:
+                if (!ESPTranslator.INSTANCE.players) {
+                    return null;
+                }
+                return ESPTranslator.INSTANCE.friendColors && FriendsTranslator.INSTANCE.isFriend(entity) ? friendColor : playerColor;
+            case GOLEM:
+                return ESPTranslator.INSTANCE.golems ? golemColor : null;
+            default:
+                return null;
         }
     }
 
@@ -165,7 +176,23 @@ public class ESPMod extends Module {
                         },
                         () -> {
                             return ESPTranslator.INSTANCE.box;
-                        }, "Box")
+                        }, "Box"),
+                new ModuleOption<>(ESPTranslator.INSTANCE.maxDistance, "maxdistance", OptionCompletions.FLOAT,
+                        (value) -> {
+                            ESPTranslator.INSTANCE.maxDistance = Math.max(value, 0.0f);
+                            return true;
+                        },
+                        () -> {
+                            return ESPTranslator.INSTANCE.maxDistance;
+                        }, "Max Distance", new ExtensionSlider(ExtensionType.VALUE_FLOAT, 16.0f, 1024.0f, 16.0f)),
+                new ModuleOption<>(ESPTranslator.INSTANCE.lodDistance, "loddistance", OptionCompletions.FLOAT,
+                        (value) -> {
+                            ESPTranslator.INSTANCE.lodDistance = Math.max(value, 0.0f);
+                            return true;
+                        },
+                        () -> {
+                            return ESPTranslator.INSTANCE.lodDistance;
+                        }, "LOD Distance", new ExtensionSlider(ExtensionType.VALUE_FLOAT, 16.0f, 1024.0f, 16.0f))
         };
     }
 
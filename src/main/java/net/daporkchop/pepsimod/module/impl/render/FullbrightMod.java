@@ -23,6 +23,7 @@ package net.daporkchop.pepsimod.module.impl.render;
 import net.daporkchop.pepsimod.module.ModuleCategory;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleOption;
+import net.daporkchop.pepsimod.util.misc.TickPhase;
 
 public class FullbrightMod extends Module {
     public static FullbrightMod INSTANCE;
@@ -80,6 +81,11 @@ public class FullbrightMod extends Module {
         return true;
     }
 
+    @Override
+    public TickPhase getTickPhase() {
+        return TickPhase.FRAME;
+    }
+
     public ModuleCategory getCategory() {
         return ModuleCategory.RENDER;
     }
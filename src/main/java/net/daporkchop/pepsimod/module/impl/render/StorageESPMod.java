@@ -24,24 +24,14 @@ import net.daporkchop.pepsimod.module.ModuleCategory;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleOption;
 import net.daporkchop.pepsimod.module.api.OptionCompletions;
-import net.daporkchop.pepsimod.util.PepsiUtils;
-import net.daporkchop.pepsimod.util.ReflectionStuff;
 import net.daporkchop.pepsimod.util.RenderColor;
 import net.daporkchop.pepsimod.util.config.impl.ESPTranslator;
 import net.daporkchop.pepsimod.util.config.impl.TracersTranslator;
+import net.daporkchop.pepsimod.util.render.StorageIndex;
 import net.daporkchop.pepsimod.util.render.WorldRenderer;
-import net.minecraft.block.BlockChest;
-import net.minecraft.tileentity.TileEntity;
-import net.minecraft.tileentity.TileEntityChest;
-import net.minecraft.tileentity.TileEntityEnderChest;
-import net.minecraft.tileentity.TileEntityFurnace;
-import net.minecraft.tileentity.TileEntityHopper;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import java.util.ArrayList;
-
 public class StorageESPMod extends Module {
     public static final RenderColor chestColor = new RenderColor(196, 139, 53, 128);
     public static final RenderColor trappedColor = new RenderColor(81, 57, 22, 128);
@@ -50,15 +40,7 @@ public class StorageESPMod extends Module {
     public static final RenderColor furnaceColor = new RenderColor(151, 151, 151, 128);
     public static StorageESPMod INSTANCE;
 
-    public static AxisAlignedBB getBoundingBox(World world, BlockPos pos) {
-        return world.getBlockState(pos).getBoundingBox(world, pos);
-    }
-
-    public final ArrayList<AxisAlignedBB> basic = new ArrayList<>();
-    public final ArrayList<AxisAlignedBB> trapped = new ArrayList<>();
-    public final ArrayList<AxisAlignedBB> ender = new ArrayList<>();
-    public final ArrayList<AxisAlignedBB> hopper = new ArrayList<>();
-    public final ArrayList<AxisAlignedBB> furnace = new ArrayList<>();
+    public final StorageIndex index = new StorageIndex();
 
     {
         INSTANCE = this;
@@ -70,54 +52,37 @@ public class StorageESPMod extends Module {
 
     @Override
     public void onEnable() {
+        this.index.reset(mc.world);
     }
 
     @Override
     public void onDisable() {
+        this.index.reset(null);
     }
 
     @Override
     public void tick() {
-        this.basic.clear();
-        this.trapped.clear();
-        this.ender.clear();
-        this.hopper.clear();
-        this.furnace.clear();
-
-        for (TileEntity te : mc.world.loadedTileEntityList) {
-            if ((ESPTranslator.INSTANCE.basic || ESPTranslator.INSTANCE.trapped) && te instanceof TileEntityChest) {
-                TileEntityChest chestTe = (TileEntityChest) te;
-
-                if (chestTe.adjacentChestXPos != null || chestTe.adjacentChestZPos != null) {
-                    continue;
-                }
-
-                AxisAlignedBB bb = PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, te.getPos())), te.getPos());
+        if (this.index.getWorld() != mc.world) {
+            this.index.reset(mc.world);
+        }
+        this.index.update();
+    }
 
-                if (chestTe.adjacentChestXNeg != null) {
-                    ReflectionStuff.setMinX(bb, bb.minX - 1);
-                    //PepsiUtils.unionBB(bb, PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, chestTe.adjacentChestXNeg.getPos())), chestTe.adjacentChestXNeg.getPos()));
-                } else if (chestTe.adjacentChestZNeg != null) {
-                    ReflectionStuff.setMinZ(bb, bb.minZ - 1);
-                    //PepsiUtils.unionBB(bb, PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, chestTe.adjacentChestZNeg.getPos())), chestTe.adjacentChestZNeg.getPos()));
-                }
+    /**
+     * Notifies StorageESP that a block or tile entity in a world has changed.
+     */
+    public void onBlockChanged(World world, BlockPos pos) {
+        if (this.state.enabled && this.index.getWorld() == world) {
+            this.index.markDirty(pos);
+        }
+    }
 
-                if (chestTe.getChestType() == BlockChest.Type.TRAP) {
-                    if (ESPTranslator.INSTANCE.trapped) {
-                        this.trapped.add(bb);
-                    }
-                } else {
-                    if (ESPTranslator.INSTANCE.basic) {
-                        this.basic.add(bb);
-                    }
-                }
-            } else if (ESPTranslator.INSTANCE.ender && te instanceof TileEntityEnderChest) {
-                this.ender.add(PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, te.getPos())), te.getPos()));
-            } else if (ESPTranslator.INSTANCE.furnace && te instanceof TileEntityFurnace) {
-                this.furnace.add(PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, te.getPos())), te.getPos()));
-            } else if (ESPTranslator.INSTANCE.hopper && te instanceof TileEntityHopper) {
-                this.hopper.add(PepsiUtils.offsetBB(PepsiUtils.cloneBB(getBoundingBox(mc.world, te.getPos())), te.getPos()));
-            }
+    /**
+     * Notifies StorageESP that a chunk in a world has been unloaded.
+     */
+    public void onChunkUnload(World world, int chunkX, int chunkZ) {
+        if (this.state.enabled && this.index.getWorld() == world) {
+            this.index.unloadChunk(chunkX, chunkZ);
         }
     }
 
@@ -175,31 +140,29 @@ public class StorageESPMod extends Module {
     @Override
     public void renderWorld(WorldRenderer renderer) {
         renderer.width(TracersTranslator.INSTANCE.width);
+        renderer.distance(ESPTranslator.INSTANCE.maxDistance, ESPTranslator.INSTANCE.lodDistance);
+
+        //indexed by StorageType ordinal
+        RenderColor[] colors = {
+                ESPTranslator.INSTANCE.basic ? chestColor : null,
+                ESPTranslator.INSTANCE.trapped ? trappedColor : null,
+                ESPTranslator.INSTANCE.ender ? enderColor : null,
+                ESPTranslator.INSTANCE.hopper ? hopperColor : null,
+                ESPTranslator.INSTANCE.furnace ? furnaceColor : null
+        };
 
-        if (ESPTranslator.INSTANCE.basic) {
-            renderer.color(chestColor);
-            //this.basic.forEach(bb -> renderer.line(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ));
-            this.basic.forEach(renderer::outline);
-        }
-
-        if (ESPTranslator.INSTANCE.trapped) {
-            renderer.color(trappedColor);
-            this.trapped.forEach(renderer::outline);
-        }
-
-        if (ESPTranslator.INSTANCE.ender) {
-            renderer.color(enderColor);
-            this.ender.forEach(renderer::outline);
-        }
-
-        if (ESPTranslator.INSTANCE.hopper) {
-            renderer.color(hopperColor);
-            this.hopper.forEach(renderer::outline);
-        }
+        for (StorageIndex.Section[] sections : this.index.getChunks()) {
+            for (StorageIndex.Section section : sections) {
+                if (section == null || section.bounds == null || !renderer.shouldRender(section.bounds)) {
+                    continue;
+                }
 
-        if (ESPTranslator.INSTANCE.furnace) {
-            renderer.color(furnaceColor);
-            this.furnace.forEach(renderer::outline);
+                for (int i = 0; i < colors.length; i++) {
+                    if (colors[i] != null && section.vertices[i] != null) {
+                        renderer.color(colors[i]).lines(section.x, section.y, section.z, section.vertices[i]);
+                    }
+                }
+            }
         }
     }
 
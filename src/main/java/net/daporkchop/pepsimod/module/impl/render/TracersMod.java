@@ -31,11 +31,9 @@ import net.daporkchop.pepsimod.util.ReflectionStuff;
 import net.daporkchop.pepsimod.util.RenderColor;
 import net.daporkchop.pepsimod.util.config.impl.FriendsTranslator;
 import net.daporkchop.pepsimod.util.config.impl.TracersTranslator;
+import net.daporkchop.pepsimod.util.misc.EntityCategory;
 import net.daporkchop.pepsimod.util.render.WorldRenderer;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.item.EntityItem;
-import net.minecraft.entity.monster.EntityMob;
-import net.minecraft.entity.passive.EntityAnimal;
 import net.minecraft.entity.player.EntityPlayer;
 
 public class TracersMod extends Module {
@@ -177,7 +175,8 @@ public class TracersMod extends Module {
                 continue;
             }
 
-            if ((TracersTranslator.INSTANCE.players || TracersTranslator.INSTANCE.everything) && entity instanceof EntityPlayer) {
+            EntityCategory category = EntityCategory.of(entity);
+            if ((TracersTranslator.INSTANCE.players || TracersTranslator.INSTANCE.everything) && category == EntityCategory.PLAYER) {
                 if (entity == mc.player || entity instanceof EntityFakePlayer) {
                     continue;
                 }
@@ -202,7 +201,7 @@ public class TracersMod extends Module {
                         color = dist5;
                     }
                 }
-            } else if ((TracersTranslator.INSTANCE.monsters || TracersTranslator.INSTANCE.everything) && entity instanceof EntityMob) {
+            } else if ((TracersTranslator.INSTANCE.monsters || TracersTranslator.INSTANCE.everything) && category == EntityCategory.MONSTER) {
                 if (TracersTranslator.INSTANCE.distanceColor) {
                     double dist = mc.player.getDistanceSq(entity);
                     if (dist >= 625) {
@@ -219,9 +218,9 @@ public class TracersMod extends Module {
                 } else {
                     color = monsterColor;
                 }
-            } else if ((TracersTranslator.INSTANCE.animals || TracersTranslator.INSTANCE.everything) && entity instanceof EntityAnimal) {
+            } else if ((TracersTranslator.INSTANCE.animals || TracersTranslator.INSTANCE.everything) && category == EntityCategory.ANIMAL) {
                 color = animalColor;
-            } else if ((TracersTranslator.INSTANCE.items || TracersTranslator.INSTANCE.everything) && entity instanceof EntityItem) {
+            } else if ((TracersTranslator.INSTANCE.items || TracersTranslator.INSTANCE.everything) && category == EntityCategory.ITEM) {
                 color = itemColor;
             } else {
                 continue;
@@ -29,19 +29,39 @@ import net.daporkchop.pepsimod.util.ReflectionStuff;
 import net.daporkchop.pepsimod.util.RenderColor;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.entity.Entity;
 import net.minecraft.item.ItemBow;
 import net.minecraft.item.ItemFishingRod;
 import net.minecraft.item.ItemPotion;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import org.lwjgl.opengl.GL11;
 
+import java.util.List;
+
 public class TrajectoriesMod extends Module {
     public static final RenderColor lineColor = new RenderColor(51, 196, 191, 128);
     public static TrajectoriesMod INSTANCE;
 
+    protected static final int MAX_STEPS = 1000;
+
+    //the most recently computed path, stored as packed XYZ triples
+    protected final double[] path = new double[(MAX_STEPS + 1) * 3];
+    protected int steps;
+    protected boolean hitEntity;
+
+    //the inputs that the path was computed from
+    protected double startX;
+    protected double startY;
+    protected double startZ;
+    protected float yaw;
+    protected float pitch;
+    protected ItemStack stack;
+    protected int useCount;
+    protected long time;
+
     {
         INSTANCE = this;
     }
@@ -86,12 +106,96 @@ public class TrajectoriesMod extends Module {
             return;
         }
 
+        float renderPartialTicks = ReflectionStuff.getTimer().renderPartialTicks;
+        double startX = player.lastTickPosX + (player.posX - player.lastTickPosX) * renderPartialTicks;
+        double startY = player.lastTickPosY + (player.posY - player.lastTickPosY) * renderPartialTicks;
+        double startZ = player.lastTickPosZ + (player.posZ - player.lastTickPosZ) * renderPartialTicks;
+        int useCount = player.getItemInUseCount();
+        long time = mc.world.getTotalWorldTime();
+        if (startX != this.startX || startY != this.startY || startZ != this.startZ
+            || player.rotationYaw != this.yaw || player.rotationPitch != this.pitch
+            || stack != this.stack || useCount != this.useCount || time != this.time) {
+            this.startX = startX;
+            this.startY = startY;
+            this.startZ = startZ;
+            this.yaw = player.rotationYaw;
+            this.pitch = player.rotationPitch;
+            this.stack = stack;
+            this.useCount = useCount;
+            this.time = time;
+            this.computePath(player, stack);
+        }
+
+        // GL settings
+        GL11.glPushMatrix();
+        GL11.glDisable(GL11.GL_TEXTURE_2D);
+        GL11.glEnable(GL11.GL_BLEND);
+        GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        GL11.glDisable(GL11.GL_DEPTH_TEST);
+        GL11.glDepthMask(false);
+        GL11.glEnable(GL11.GL_LINE_SMOOTH);
+        GL11.glLineWidth(2);
+
+        RenderManager renderManager = mc.getRenderManager();
+        double renderPosX = ReflectionStuff.getRenderPosX(renderManager);
+        double renderPosY = ReflectionStuff.getRenderPosY(renderManager);
+        double renderPosZ = ReflectionStuff.getRenderPosZ(renderManager);
+
+        // draw trajectory line
+        double[] path = this.path;
+        PepsiUtils.glColor(lineColor);
+        GL11.glBegin(GL11.GL_LINE_STRIP);
+        for (int i = 0; i < this.steps * 3; i += 3) {
+            GL11.glVertex3d(path[i] - renderPosX, path[i + 1] - renderPosY, path[i + 2] - renderPosZ);
+        }
+        GL11.glEnd();
+
+        // draw end of trajectory line
+        boolean hitEntity = this.hitEntity;
+        double renderX = path[this.steps * 3] - renderPosX;
+        double renderY = path[this.steps * 3 + 1] - renderPosY;
+        double renderZ = path[this.steps * 3 + 2] - renderPosZ;
+
+        GL11.glPushMatrix();
+        GL11.glTranslated(renderX - 0.5, renderY - 0.5, renderZ - 0.5);
+
+        if (hitEntity)  {
+            GL11.glColor4f(1F, 0F, 0F, 0.25F);
+        } else {
+            GL11.glColor4f(0F, 1F, 0F, 0.25F);
+        }
+        RenderUtils.drawSolidBox();
+        if (hitEntity)  {
+            GL11.glColor4f(1F, 0F, 0F, 0.75F);
+        } else {
+            GL11.glColor4f(0F, 1F, 0F, 0.75F);
+        }
+        RenderUtils.drawOutlinedBox();
+
+        GL11.glPopMatrix();
+
+        // GL resets
+        GL11.glDisable(GL11.GL_BLEND);
+        GL11.glEnable(GL11.GL_TEXTURE_2D);
+        GL11.glEnable(GL11.GL_DEPTH_TEST);
+        GL11.glDepthMask(true);
+        GL11.glDisable(GL11.GL_LINE_SMOOTH);
+        GL11.glPopMatrix();
+    }
+
+    /**
+     * Simulates the flight path of the held item.
+     * <p>
+     * Each step only traces the segment from the previous step against the world, and entities are only gathered once
+     * for the entire path.
+     */
+    protected void computePath(EntityPlayerSP player, ItemStack stack) {
         boolean usingBow = stack.getItem() instanceof ItemBow;
 
         // calculate starting position
-        double arrowPosX = player.lastTickPosX + (player.posX - player.lastTickPosX) * ReflectionStuff.getTimer().renderPartialTicks - Math.cos((float) Math.toRadians(player.rotationYaw)) * 0.16F;
-        double arrowPosY = player.lastTickPosY + (player.posY - player.lastTickPosY) * ReflectionStuff.getTimer().renderPartialTicks + player.getEyeHeight() - 0.1;
-        double arrowPosZ = player.lastTickPosZ + (player.posZ - player.lastTickPosZ) * ReflectionStuff.getTimer().renderPartialTicks - Math.sin((float) Math.toRadians(player.rotationYaw)) * 0.16F;
+        double arrowPosX = this.startX - Math.cos((float) Math.toRadians(player.rotationYaw)) * 0.16F;
+        double arrowPosY = this.startY + player.getEyeHeight() - 0.1;
+        double arrowPosZ = this.startZ - Math.sin((float) Math.toRadians(player.rotationYaw)) * 0.16F;
 
         // calculate starting motion
         float arrowMotionFactor = usingBow ? 1F : 0.4F;
@@ -122,28 +226,23 @@ public class TrajectoriesMod extends Module {
             arrowMotionZ *= 1.5D;
         }
 
-        // GL settings
-        GL11.glPushMatrix();
-        GL11.glDisable(GL11.GL_TEXTURE_2D);
-        GL11.glEnable(GL11.GL_BLEND);
-        GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
-        GL11.glDisable(GL11.GL_DEPTH_TEST);
-        GL11.glDepthMask(false);
-        GL11.glEnable(GL11.GL_LINE_SMOOTH);
-        GL11.glLineWidth(2);
-
-        RenderManager renderManager = mc.getRenderManager();
-
-        boolean hitEntity = false;
-
-        // draw trajectory line
         double gravity = usingBow ? 0.05D : stack.getItem() instanceof ItemPotion ? 0.4D : stack.getItem() instanceof ItemFishingRod ? 0.15D : 0.03D;
-        Vec3d playerVector = new Vec3d(player.posX, player.posY + player.getEyeHeight(), player.posZ);
-        PepsiUtils.glColor(lineColor);
-        GL11.glBegin(GL11.GL_LINE_STRIP);
-        for (int i = 0; i < 1000; i++) {
-            GL11.glVertex3d(arrowPosX - ReflectionStuff.getRenderPosX(renderManager), arrowPosY - ReflectionStuff.getRenderPosY(renderManager), arrowPosZ - ReflectionStuff.getRenderPosZ(renderManager));
+        double[] path = this.path;
+        double minX = arrowPosX;
+        double minY = arrowPosY;
+        double minZ = arrowPosZ;
+        double maxX = arrowPosX;
+        double maxY = arrowPosY;
+        double maxZ = arrowPosZ;
+        boolean hitBlock = false;
 
+        // first pass: move along the path until a block is hit
+        Vec3d prev = new Vec3d(arrowPosX, arrowPosY, arrowPosZ);
+        int steps = 0;
+        path[0] = arrowPosX;
+        path[1] = arrowPosY;
+        path[2] = arrowPosZ;
+        while (steps < MAX_STEPS) {
             arrowPosX += arrowMotionX * 0.1;
             arrowPosY += arrowMotionY * 0.1;
             arrowPosZ += arrowMotionZ * 0.1;
@@ -152,49 +251,46 @@ public class TrajectoriesMod extends Module {
             arrowMotionZ *= 0.999D;
             arrowMotionY -= gravity * 0.1;
 
-            RayTraceResult result = mc.world.rayTraceBlocks(playerVector, new Vec3d(arrowPosX, arrowPosY, arrowPosZ));
-            if (result != null) {
-                break;
-            } else if (!mc.world.checkNoEntityCollision(new AxisAlignedBB(
-                    arrowPosX - 0.25d, arrowPosY - 0.25d, arrowPosZ - 0.25d,
-                    arrowPosX + 0.25d, arrowPosY + 0.25d, arrowPosZ + 0.25d
-            ), mc.player)) {
-                hitEntity = true;
+            int i = ++steps * 3;
+            path[i] = arrowPosX;
+            path[i + 1] = arrowPosY;
+            path[i + 2] = arrowPosZ;
+            minX = Math.min(minX, arrowPosX);
+            minY = Math.min(minY, arrowPosY);
+            minZ = Math.min(minZ, arrowPosZ);
+            maxX = Math.max(maxX, arrowPosX);
+            maxY = Math.max(maxY, arrowPosY);
+            maxZ = Math.max(maxZ, arrowPosZ);
+
+            Vec3d next = new Vec3d(arrowPosX, arrowPosY, arrowPosZ);
+            if (!mc.world.isBlockLoaded(new BlockPos(next), false) || mc.world.rayTraceBlocks(prev, next) != null) {
+                hitBlock = true;
                 break;
             }
+            prev = next;
         }
-        GL11.glEnd();
 
-        // draw end of trajectory line
-        double renderX = arrowPosX - ReflectionStuff.getRenderPosX(renderManager);
-        double renderY = arrowPosY - ReflectionStuff.getRenderPosY(renderManager);
-        double renderZ = arrowPosZ - ReflectionStuff.getRenderPosZ(renderManager);
-
-        GL11.glPushMatrix();
-        GL11.glTranslated(renderX - 0.5, renderY - 0.5, renderZ - 0.5);
-
-        if (hitEntity)  {
-            GL11.glColor4f(1F, 0F, 0F, 0.25F);
-        } else {
-            GL11.glColor4f(0F, 1F, 0F, 0.25F);
-        }
-        RenderUtils.drawSolidBox();
-        if (hitEntity)  {
-            GL11.glColor4f(1F, 0F, 0F, 0.75F);
-        } else {
-            GL11.glColor4f(0F, 1F, 0F, 0.75F);
+        // second pass: find the first point along the path that collides with an entity
+        this.hitEntity = false;
+        List<Entity> entities = mc.world.getEntitiesInAABBexcluding(player, new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ).grow(0.25d),
+                entity -> !entity.isDead && entity.preventEntitySpawning && !entity.isRidingSameEntity(player));
+        if (!entities.isEmpty()) {
+            AxisAlignedBB[] boxes = entities.stream().map(Entity::getEntityBoundingBox).toArray(AxisAlignedBB[]::new);
+            CHECK:
+            for (int step = 1; step < steps || (step == steps && !hitBlock); step++) {
+                double x = path[step * 3];
+                double y = path[step * 3 + 1];
+                double z = path[step * 3 + 2];
+                for (AxisAlignedBB bb : boxes) {
+                    if (bb.intersects(x - 0.25d, y - 0.25d, z - 0.25d, x + 0.25d, y + 0.25d, z + 0.25d)) {
+                        this.hitEntity = true;
+                        steps = step;
+                        break CHECK;
+                    }
+                }
+            }
         }
-        RenderUtils.drawOutlinedBox();
-
-        GL11.glPopMatrix();
-
-        // GL resets
-        GL11.glDisable(GL11.GL_BLEND);
-        GL11.glEnable(GL11.GL_TEXTURE_2D);
-        GL11.glEnable(GL11.GL_DEPTH_TEST);
-        GL11.glDepthMask(true);
-        GL11.glDisable(GL11.GL_LINE_SMOOTH);
-        GL11.glPopMatrix();
+        this.steps = steps;
     }
 
     public ModuleCategory getCategory() {
@@ -0,0 +1,122 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.module.impl.render;
+
+import net.daporkchop.pepsimod.module.ModuleCategory;
+import net.daporkchop.pepsimod.module.api.Module;
+import net.daporkchop.pepsimod.module.api.ModuleOption;
+import net.daporkchop.pepsimod.module.api.OptionCompletions;
+import net.daporkchop.pepsimod.module.api.option.ExtensionSlider;
+import net.daporkchop.pepsimod.module.api.option.ExtensionType;
+import net.daporkchop.pepsimod.util.RenderColor;
+import net.daporkchop.pepsimod.util.config.impl.WaypointsTranslator;
+import net.daporkchop.pepsimod.util.misc.waypoints.DimensionWaypoints;
+import net.daporkchop.pepsimod.util.misc.waypoints.ServerWaypoints;
+import net.daporkchop.pepsimod.util.misc.waypoints.Waypoint;
+import net.daporkchop.pepsimod.util.render.WorldRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WaypointsMod extends Module {
+    public static final RenderColor waypointColor = new RenderColor(0, 255, 128, 255);
+
+    public static WaypointsMod INSTANCE;
+
+    protected final List<Waypoint> waypoints = new ArrayList<>();
+
+    {
+        INSTANCE = this;
+    }
+
+    public WaypointsMod() {
+        super("Waypoints");
+    }
+
+    @Override
+    public void onEnable() {
+    }
+
+    @Override
+    public void onDisable() {
+    }
+
+    @Override
+    public void init() {
+        INSTANCE = this;
+    }
+
+    @Override
+    public ModuleOption[] getDefaultOptions() {
+        return new ModuleOption[]{
+                new ModuleOption<>(WaypointsTranslator.INSTANCE.maxDistance, "maxdistance", OptionCompletions.FLOAT,
+                        (value) -> {
+                            WaypointsTranslator.INSTANCE.maxDistance = Math.max(value, 0.0f);
+                            return true;
+                        },
+                        () -> {
+                            return WaypointsTranslator.INSTANCE.maxDistance;
+                        }, "Max Distance", new ExtensionSlider(ExtensionType.VALUE_FLOAT, 16.0f, 4096.0f, 16.0f)),
+                new ModuleOption<>(WaypointsTranslator.INSTANCE.lodDistance, "loddistance", OptionCompletions.FLOAT,
+                        (value) -> {
+                            WaypointsTranslator.INSTANCE.lodDistance = Math.max(value, 0.0f);
+                            return true;
+                        },
+                        () -> {
+                            return WaypointsTranslator.INSTANCE.lodDistance;
+                        }, "LOD Distance", new ExtensionSlider(ExtensionType.VALUE_FLOAT, 16.0f, 1024.0f, 16.0f)),
+                new ModuleOption<>(WaypointsTranslator.INSTANCE.width, "width", OptionCompletions.FLOAT,
+                        (value) -> {
+                            WaypointsTranslator.INSTANCE.width = Math.max(value, 0.0f);
+                            return true;
+                        },
+                        () -> {
+                            return WaypointsTranslator.INSTANCE.width;
+                        }, "Width", new ExtensionSlider(ExtensionType.VALUE_FLOAT, 0.5f, 5.0f, 0.5f))
+        };
+    }
+
+    @Override
+    public void renderWorld(WorldRenderer renderer) {
+        ServerWaypoints server = ServerWaypoints.getCurrent();
+        DimensionWaypoints dimension = server == null || mc.player == null ? null : server.getDimension(mc.player.dimension);
+        if (dimension == null) {
+            return;
+        }
+
+        renderer.width(WaypointsTranslator.INSTANCE.width).color(waypointColor);
+        renderer.distance(WaypointsTranslator.INSTANCE.maxDistance, WaypointsTranslator.INSTANCE.lodDistance);
+
+        //only waypoints in nearby grid cells are considered, the renderer then culls them by frustum and simplifies distant ones
+        List<Waypoint> waypoints = dimension.getWaypointsInRadius(renderer.getX(), renderer.getZ(), WaypointsTranslator.INSTANCE.maxDistance, this.waypoints);
+        for (int i = 0, size = waypoints.size(); i < size; i++) {
+            Waypoint waypoint = waypoints.get(i);
+            if (waypoint.shown) {
+                renderer.outline(waypoint.x, waypoint.y, waypoint.z, waypoint.x + 1, waypoint.y + 2, waypoint.z + 1);
+            }
+        }
+        waypoints.clear();
+    }
+
+    public ModuleCategory getCategory() {
+        return ModuleCategory.RENDER;
+    }
+}
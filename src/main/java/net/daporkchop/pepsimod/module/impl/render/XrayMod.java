@@ -25,12 +25,14 @@ import net.daporkchop.pepsimod.module.ModuleCategory;
 import net.daporkchop.pepsimod.module.Modules;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleOption;
+import net.daporkchop.pepsimod.optimization.BlockID;
 import net.daporkchop.pepsimod.util.PepsiUtils;
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.ResourceLocation;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Objects;
@@ -192,13 +194,40 @@ public class XrayMod extends Module {
 
         private final Set<ResourceLocation> fastLookup = new LinkedHashSet<>();
 
+        /**
+         * A bitmap of the IDs of all visible blocks, compiled from {@link #fastLookup}.
+         * <p>
+         * This is queried from the chunk rebuild threads, and is therefore replaced rather than modified.
+         */
+        private volatile long[] visibleIds = new long[0];
+
         public boolean isVisible(Block block) {
-            return this.fastLookup.contains(block.getRegistryName());
+            return this.isVisible(((BlockID) block).getBlockId());
+        }
+
+        public boolean isVisible(int id) {
+            long[] visibleIds = this.visibleIds;
+            int index = id >>> 6;
+            return index < visibleIds.length && (visibleIds[index] & (1L << id)) != 0L;
+        }
+
+        /**
+         * Rebuilds the bitmap of visible block IDs from the block list.
+         */
+        public void compile() {
+            BitSet bits = new BitSet();
+            for (ResourceLocation id : this.fastLookup) {
+                if (Block.REGISTRY.containsKey(id)) {
+                    bits.set(Block.REGISTRY.getIDForObject(Block.REGISTRY.getObject(id)));
+                }
+            }
+            this.visibleIds = bits.toLongArray();
         }
 
         public boolean add(ResourceLocation id) {
             if (this.fastLookup.add(id)) {
-                PepsiConfig.sync(); //save config
+                this.compile();
+                PepsiConfig.requestSync(); //save config
                 return true;
             } else {
                 return false;
@@ -207,7 +236,8 @@ public class XrayMod extends Module {
 
         public boolean remove(ResourceLocation id) {
             if (this.fastLookup.remove(id)) {
-                PepsiConfig.sync(); //save config
+                this.compile();
+                PepsiConfig.requestSync(); //save config
                 return true;
             } else {
                 return false;
@@ -227,6 +257,7 @@ public class XrayMod extends Module {
 
             this.fastLookup.clear();
             Stream.of(this.blocks).map(ResourceLocation::new).forEach(this.fastLookup::add);
+            this.compile();
         }
     }
 }
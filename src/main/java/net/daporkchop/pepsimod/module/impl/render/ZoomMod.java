@@ -24,6 +24,7 @@ import net.daporkchop.pepsimod.module.ModuleCategory;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleLaunchState;
 import net.daporkchop.pepsimod.module.api.ModuleOption;
+import net.daporkchop.pepsimod.util.misc.TickPhase;
 
 public class ZoomMod extends Module {
     public static ZoomMod INSTANCE;
@@ -81,6 +82,11 @@ public class ZoomMod extends Module {
         return true;
     }
 
+    @Override
+    public TickPhase getTickPhase() {
+        return TickPhase.FRAME;
+    }
+
     public ModuleCategory getCategory() {
         return ModuleCategory.RENDER;
     }
@@ -20,6 +20,7 @@
 
 package net.daporkchop.pepsimod.the.wurst.pkg.name;
 
+import net.daporkchop.pepsimod.util.EntityIndex;
 import net.daporkchop.pepsimod.util.PepsiConstants;
 import net.daporkchop.pepsimod.util.PepsiUtils;
 import net.daporkchop.pepsimod.util.config.impl.FriendsTranslator;
@@ -35,139 +36,56 @@ import net.minecraft.entity.monster.EntitySlime;
 import net.minecraft.entity.passive.EntityAmbientCreature;
 import net.minecraft.entity.passive.EntityWaterMob;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class EntityUtils extends PepsiConstants {
     public static final TargetSettings DEFAULT_SETTINGS = new TargetSettings();
     public static final String[] colors = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "a", "b", "c", "d", "e", "f"};
 
-    public static boolean isCorrectEntity(Entity en, TargetSettings settings) {
-        // non-entities
-        if (en == null) {
-            return false;
-        }
-
-        // dead entities
-        if (en instanceof EntityLivingBase && (((EntityLivingBase) en).isDead || ((EntityLivingBase) en).getHealth() <= 0)) {
-            return false;
-        }
+    private static final ArrayList<Entity> CANDIDATES = new ArrayList<>();
 
-        // entities outside the range
-        if (mc.player.getDistance(en) > settings.getRange()) {
-            return false;
-        }
-
-        // entities outside the FOV
-        if (settings.getFOV() < 360F && RotationUtils.getAngleToClientRotation(PepsiUtils.adjustVectorForBone(en.getEntityBoundingBox().getCenter(), en, settings.getTargetBone())) > settings.getFOV() / 2F) {
-            return false;
-        }
-
-        // entities behind walls
-        if (!settings.targetBehindWalls() && !PepsiUtils.canEntityBeSeen(en, mc.player, settings.getTargetBone())) {
-            return false;
-        }
-
-        // friends
-        if (!settings.targetFriends() && FriendsTranslator.INSTANCE.isFriend(en)) {
-            return false;
-        }
-
-        // players
-        if (en instanceof EntityPlayer) {
-            // normal players
-            if (!settings.targetPlayers()) {
-                if (!((EntityPlayer) en).isPlayerSleeping() && !en.isInvisible()) {
-                    return false;
-                }
-
-                // sleeping players
-            } else if (!settings.targetSleepingPlayers()) {
-                if (((EntityPlayer) en).isPlayerSleeping()) {
-                    return false;
-                }
-
-                // invisible players
-            } else if (!settings.targetInvisiblePlayers()) {
-                if (en.isInvisible()) {
-                    return false;
-                }
-            }
-
-            // team players
-            if (settings.targetTeams() && !checkName(
-                    en.getDisplayName().getFormattedText(),
-                    settings.getTeamColors())) {
-                return false;
-            }
-
-            // the user
-            if (en == mc.player) {
-                return false;
-            }
-
-            // Freecam entity
-            if (en.getName()
-                  .equals(mc.player.getName())) {
-                return false;
-            }
-
-            // mobs
-        } else if (en instanceof EntityLiving) {
-            // invisible mobs
-            if (en.isInvisible()) {
-                if (!settings.targetInvisibleMobs()) {
-                    return false;
-                }
-
-                // animals
-            } else if (en instanceof EntityAgeable
-                    || en instanceof EntityAmbientCreature
-                    || en instanceof EntityWaterMob) {
-                if (!settings.targetAnimals()) {
-                    return false;
-                }
-
-                // monsters
-            } else if (en instanceof EntityMob || en instanceof EntitySlime
-                    || en instanceof EntityFlying) {
-                if (!settings.targetMonsters()) {
-                    return false;
-                }
-
-                // golems
-            } else if (en instanceof EntityGolem) {
-                if (!settings.targetGolems()) {
-                    return false;
-                }
+    /**
+     * Gets all entities in range of the player, which may then be filtered with {@link #isCorrectEntity(Entity, TargetSettings)}.
+     * <p>
+     * The returned list is re-used by every call!
+     */
+    private static ArrayList<Entity> getCandidates(TargetSettings settings) {
+        CANDIDATES.clear();
+        return EntityIndex.getEntitiesInRadius(mc.player, settings.getRange(), CANDIDATES);
+    }
 
-                // other mobs
-            } else {
-                return false;
-            }
+    private static TargetFilter filter;
 
-            // team mobs
-            if (settings.targetTeams() && en.hasCustomName()
-                    && !checkName(en.getCustomNameTag(),
-                    settings.getTeamColors())) {
-                return false;
-            }
+    public static boolean isCorrectEntity(Entity en, TargetSettings settings) {
+        return getFilter(settings).test(en);
+    }
 
-            // other entities
-        } else {
-            return false;
+    /**
+     * Gets a {@link TargetFilter} for the given settings.
+     * <p>
+     * Filters are re-compiled once per tick, so any results cached by the filter are only valid for the current tick.
+     */
+    public static TargetFilter getFilter(TargetSettings settings) {
+        TargetFilter filter = EntityUtils.filter;
+        if (filter == null || filter.settings != settings || filter.world != mc.world || filter.time != mc.world.getTotalWorldTime()) {
+            EntityUtils.filter = filter = new TargetFilter(settings);
         }
-
-        return true;
+        return filter;
     }
 
     private static boolean checkName(String name, boolean[] teamColors) {
         // check colors
         boolean hasKnownColor = false;
-        for (int i = 0; i < 16; i++) {
-            if (name.contains('\u00A7' + colors[i])) {
+        for (int i = name.indexOf('\u00A7'); i >= 0 && i + 1 < name.length(); i = name.indexOf('\u00A7', i + 1)) {
+            char c = name.charAt(i + 1);
+            int color = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+            if (color >= 0) {
                 hasKnownColor = true;
-                if (teamColors[i]) {
+                if (teamColors[color]) {
                     return true;
                 }
             }
@@ -180,7 +98,7 @@ public class EntityUtils extends PepsiConstants {
     public static ArrayList<Entity> getValidEntities(TargetSettings settings) {
         ArrayList<Entity> validEntities = new ArrayList<>();
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        for (Entity entity : getCandidates(settings)) {
             if (isCorrectEntity(entity, settings)) {
                 validEntities.add(entity);
             }
@@ -196,11 +114,11 @@ public class EntityUtils extends PepsiConstants {
     public static Entity getClosestEntity(TargetSettings settings) {
         Entity closestEntity = null;
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        for (Entity entity : getCandidates(settings)) {
             if (isCorrectEntity(entity, settings)
                     && (closestEntity == null || mc.player
-                    .getDistance(entity) < mc.player
-                    .getDistance(closestEntity))) {
+                    .getDistanceSq(entity) < mc.player
+                    .getDistanceSq(closestEntity))) {
                 closestEntity = entity;
             }
         }
@@ -212,7 +130,7 @@ public class EntityUtils extends PepsiConstants {
         Entity bestEntity = null;
         float bestAngle = Float.POSITIVE_INFINITY;
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        for (Entity entity : getCandidates(settings)) {
             if (!isCorrectEntity(entity, settings)) {
                 continue;
             }
@@ -232,11 +150,11 @@ public class EntityUtils extends PepsiConstants {
                                                    TargetSettings settings) {
         Entity closestEnemy = null;
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        for (Entity entity : getCandidates(settings)) {
             if (isCorrectEntity(entity, settings) && entity != otherEntity
                     && (closestEnemy == null || mc.player
-                    .getDistance(entity) < mc.player
-                    .getDistance(closestEnemy))) {
+                    .getDistanceSq(entity) < mc.player
+                    .getDistanceSq(closestEnemy))) {
                 closestEnemy = entity;
             }
         }
@@ -248,7 +166,7 @@ public class EntityUtils extends PepsiConstants {
                                                   TargetSettings settings) {
         Entity closestEntity = null;
 
-        for (Entity entity : mc.world.loadedEntityList) {
+        for (Entity entity : getCandidates(settings)) {
             if (!isCorrectEntity(entity, settings)) {
                 continue;
             }
@@ -266,6 +184,158 @@ public class EntityUtils extends PepsiConstants {
         return closestEntity;
     }
 
+    /**
+     * A target filter compiled from a {@link TargetSettings}.
+     * <p>
+     * Checks are done cheapest-first, and the results of expensive checks (raytracing and team colors) are cached for
+     * every entity.
+     */
+    public static class TargetFilter {
+        protected final TargetSettings settings;
+        protected final World world;
+        protected final long time;
+
+        protected final double rangeSq;
+        protected final float halfFov;
+        protected final boolean behindWalls;
+        protected final boolean friends;
+        protected final boolean players;
+        protected final boolean sleepingPlayers;
+        protected final boolean invisiblePlayers;
+        protected final boolean invisibleMobs;
+        protected final boolean animals;
+        protected final boolean monsters;
+        protected final boolean golems;
+        protected final boolean teams;
+        protected final boolean[] teamColors;
+        protected final TargettingTranslator.TargetBone bone;
+
+        protected final Map<Entity, Boolean> visible = new IdentityHashMap<>();
+        protected final Map<Entity, Boolean> sameTeam = new IdentityHashMap<>();
+
+        public TargetFilter(TargetSettings settings) {
+            this.settings = settings;
+            this.world = mc.world;
+            this.time = mc.world.getTotalWorldTime();
+
+            this.rangeSq = (double) settings.getRange() * (double) settings.getRange();
+            this.halfFov = settings.getFOV() < 360F ? settings.getFOV() / 2F : Float.NaN;
+            this.behindWalls = settings.targetBehindWalls();
+            this.friends = settings.targetFriends();
+            this.players = settings.targetPlayers();
+            this.sleepingPlayers = settings.targetSleepingPlayers();
+            this.invisiblePlayers = settings.targetInvisiblePlayers();
+            this.invisibleMobs = settings.targetInvisibleMobs();
+            this.animals = settings.targetAnimals();
+            this.monsters = settings.targetMonsters();
+            this.golems = settings.targetGolems();
+            this.teams = settings.targetTeams();
+            this.teamColors = settings.getTeamColors().clone();
+            this.bone = settings.getTargetBone();
+        }
+
+        public boolean test(Entity en) {
+            // non-entities and the user
+            if (en == null || en == mc.player) {
+                return false;
+            }
+
+            // entity type
+            if (en instanceof EntityPlayer) {
+                if (!this.players) {
+                    // normal players
+                    if (!((EntityPlayer) en).isPlayerSleeping() && !en.isInvisible()) {
+                        return false;
+                    }
+                } else if (!this.sleepingPlayers) {
+                    // sleeping players
+                    if (((EntityPlayer) en).isPlayerSleeping()) {
+                        return false;
+                    }
+                } else if (!this.invisiblePlayers) {
+                    // invisible players
+                    if (en.isInvisible()) {
+                        return false;
+                    }
+                }
+            } else if (en instanceof EntityLiving) {
+                if (en.isInvisible()) {
+                    // invisible mobs
+                    if (!this.invisibleMobs) {
+                        return false;
+                    }
+                } else if (en instanceof EntityAgeable || en instanceof EntityAmbientCreature || en instanceof EntityWaterMob) {
+                    // animals
+                    if (!this.animals) {
+                        return false;
+                    }
+                } else if (en instanceof EntityMob || en instanceof EntitySlime || en instanceof EntityFlying) {
+                    // monsters
+                    if (!this.monsters) {
+                        return false;
+                    }
+                } else if (en instanceof EntityGolem) {
+                    // golems
+                    if (!this.golems) {
+                        return false;
+                    }
+                } else {
+                    // other mobs
+                    return false;
+                }
+            } else {
+                // other entities
+                return false;
+            }
+
+            // dead entities
+            EntityLivingBase living = (EntityLivingBase) en;
+            if (living.isDead || living.getHealth() <= 0) {
+                return false;
+            }
+
+            // entities outside the range
+            if (mc.player.getDistanceSq(en) > this.rangeSq) {
+                return false;
+            }
+
+            // friends
+            if (!this.friends && FriendsTranslator.INSTANCE.isFriend(en)) {
+                return false;
+            }
+
+            // Freecam entity
+            if (en instanceof EntityPlayer && en.getName().equals(mc.player.getName())) {
+                return false;
+            }
+
+            // team members
+            if (this.teams && !this.sameTeam.computeIfAbsent(en, this::isOnTeam)) {
+                return false;
+            }
+
+            // entities outside the FOV
+            if (this.halfFov == this.halfFov && RotationUtils.getAngleToClientRotation(PepsiUtils.adjustVectorForBone(en.getEntityBoundingBox().getCenter(), en, this.bone)) > this.halfFov) {
+                return false;
+            }
+
+            // entities behind walls
+            if (!this.behindWalls && !this.visible.computeIfAbsent(en, entity -> PepsiUtils.canEntityBeSeen(entity, mc.player, this.bone))) {
+                return false;
+            }
+
+            return true;
+        }
+
+        protected boolean isOnTeam(Entity en) {
+            if (en instanceof EntityPlayer) {
+                return checkName(en.getDisplayName().getFormattedText(), this.teamColors);
+            } else {
+                return !en.hasCustomName() || checkName(en.getCustomNameTag(), this.teamColors);
+            }
+        }
+    }
+
     public static class TargetSettings {
         public static final boolean[] team_colors = {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true};
 
@@ -0,0 +1,169 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util;
+
+import net.daporkchop.pepsimod.util.render.WorldRenderer;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.List;
+
+/**
+ * Spatial queries for entities in the client world.
+ * <p>
+ * Rather than walking {@link net.minecraft.world.World#loadedEntityList}, these use the per-chunk-section entity lists
+ * that Minecraft already keeps up to date as entities join, leave and move between sections. The cost of a query is
+ * therefore proportional to the size of the queried area, not the total number of loaded entities.
+ * <p>
+ * Results are appended to a list supplied by the caller, which may be re-used between queries. Must only be used from
+ * the client thread.
+ *
+ * @author DaPorkchop_
+ */
+public class EntityIndex extends PepsiConstants {
+    /**
+     * How far an entity's bounding box may extend outside of the chunk section that it's stored in
+     */
+    protected static final double MAX_ENTITY_RADIUS = 2.0d;
+
+    /**
+     * How far the bottom and top sections are extended when culling, as they also contain all entities below or above the
+     * world. Kept finite so that the frustum test doesn't have to deal with infinities.
+     */
+    protected static final double OUT_OF_RANGE_Y = 1 << 20;
+
+    /**
+     * Gets all entities whose position is within a given radius of a point.
+     *
+     * @param x      the X coordinate of the point
+     * @param y      the Y coordinate of the point
+     * @param z      the Z coordinate of the point
+     * @param radius the radius
+     * @param dst    the list to add the entities to
+     * @return the list
+     */
+    public static <L extends List<Entity>> L getEntitiesInRadius(double x, double y, double z, double radius, L dst) {
+        return query(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius, null, x, y, z, radius * radius, dst);
+    }
+
+    /**
+     * Gets all entities whose position is within a given radius of another entity, excluding the entity itself.
+     *
+     * @param entity the entity
+     * @param radius the radius
+     * @param dst    the list to add the entities to
+     * @return the list
+     */
+    public static <L extends List<Entity>> L getEntitiesInRadius(Entity entity, double radius, L dst) {
+        int size = dst.size();
+        getEntitiesInRadius(entity.posX, entity.posY, entity.posZ, radius, dst);
+        for (int i = dst.size() - 1; i >= size; i--) {
+            if (dst.get(i) == entity) {
+                dst.remove(i);
+                break;
+            }
+        }
+        return dst;
+    }
+
+    /**
+     * Gets all entities whose bounding box intersects a given box.
+     *
+     * @param bb  the box
+     * @param dst the list to add the entities to
+     * @return the list
+     */
+    public static <L extends List<Entity>> L getEntitiesInBox(AxisAlignedBB bb, L dst) {
+        return query(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ, null, 0.0d, 0.0d, 0.0d, Double.NaN, dst);
+    }
+
+    /**
+     * Gets all entities within a given distance of the viewer whose bounding box is (partially) inside of the view frustum.
+     *
+     * @param renderer the {@link WorldRenderer} for the current frame
+     * @param radius   the maximum distance from the viewer
+     * @param dst      the list to add the entities to
+     * @return the list
+     */
+    public static <L extends List<Entity>> L getEntitiesInView(WorldRenderer renderer, double radius, L dst) {
+        double x = renderer.getX();
+        double y = renderer.getY();
+        double z = renderer.getZ();
+        return query(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius, renderer, x, y, z, radius * radius, dst);
+    }
+
+    protected static <L extends List<Entity>> L query(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, WorldRenderer view, double x, double y, double z, double radiusSq, L dst) {
+        int minChunkX = floorToSection(minX - MAX_ENTITY_RADIUS);
+        //entities outside of the world's height are stored in the top or bottom section, so clamp both bounds into range
+        int minSectionY = clampSection(floorToSection(minY - MAX_ENTITY_RADIUS));
+        int minChunkZ = floorToSection(minZ - MAX_ENTITY_RADIUS);
+        int maxChunkX = floorToSection(maxX + MAX_ENTITY_RADIUS);
+        int maxSectionY = clampSection(floorToSection(maxY + MAX_ENTITY_RADIUS));
+        int maxChunkZ = floorToSection(maxZ + MAX_ENTITY_RADIUS);
+        boolean radius = !Double.isNaN(radiusSq);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Chunk chunk = mc.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+
+                ClassInheritanceMultiMap<Entity>[] lists = chunk.getEntityLists();
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    ClassInheritanceMultiMap<Entity> list = lists[sectionY];
+                    if (list.isEmpty() || (view != null && !view.isVisible(
+                            (chunkX << 4) - MAX_ENTITY_RADIUS, sectionY == 0 ? -OUT_OF_RANGE_Y : (sectionY << 4) - MAX_ENTITY_RADIUS, (chunkZ << 4) - MAX_ENTITY_RADIUS,
+                            (chunkX << 4) + 16 + MAX_ENTITY_RADIUS, sectionY == 15 ? OUT_OF_RANGE_Y : (sectionY << 4) + 16 + MAX_ENTITY_RADIUS, (chunkZ << 4) + 16 + MAX_ENTITY_RADIUS))) {
+                        continue;
+                    }
+
+                    for (Entity entity : list) {
+                        if (radius) {
+                            double dx = entity.posX - x;
+                            double dy = entity.posY - y;
+                            double dz = entity.posZ - z;
+                            if (dx * dx + dy * dy + dz * dz > radiusSq) {
+                                continue;
+                            }
+                        } else if (!entity.getEntityBoundingBox().intersects(minX, minY, minZ, maxX, maxY, maxZ)) {
+                            continue;
+                        }
+                        if (view == null || view.isVisible(entity.getEntityBoundingBox())) {
+                            dst.add(entity);
+                        }
+                    }
+                }
+            }
+        }
+        return dst;
+    }
+
+    protected static int floorToSection(double d) {
+        return (int) Math.floor(d) >> 4;
+    }
+
+    protected static int clampSection(int sectionY) {
+        return Math.max(Math.min(sectionY, 15), 0);
+    }
+}
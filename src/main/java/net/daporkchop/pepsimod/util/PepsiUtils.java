@@ -21,6 +21,7 @@
 package net.daporkchop.pepsimod.util;
 
 import net.daporkchop.pepsimod.Pepsimod;
+import net.daporkchop.pepsimod.module.Modules;
 import net.daporkchop.pepsimod.optimization.BlockID;
 import net.daporkchop.pepsimod.util.colors.ColorizedText;
 import net.daporkchop.pepsimod.util.colors.FixedColorElement;
@@ -200,6 +201,7 @@ public class PepsiUtils extends PepsiConstants {
 
     public static void setBlockIdFields() {
         Block.REGISTRY.forEach(block -> ((BlockID) block).internal_setBlockId(Block.REGISTRY.getIDForObject(block)));
+        Modules.xray.compile();
     }
 
     public static AxisAlignedBB cloneBB(AxisAlignedBB bb) {
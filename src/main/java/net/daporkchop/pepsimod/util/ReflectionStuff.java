@@ -21,13 +21,24 @@
 package net.daporkchop.pepsimod.util;
 
 import com.google.common.collect.ImmutableSet;
+import net.daporkchop.pepsimod.asm.core.client.AccessorMinecraft;
+import net.daporkchop.pepsimod.asm.core.client.entity.AccessorEntityPlayerSP;
+import net.daporkchop.pepsimod.asm.core.client.gui.AccessorGuiDisconnected;
+import net.daporkchop.pepsimod.asm.core.client.multiplayer.AccessorPlayerControllerMP;
+import net.daporkchop.pepsimod.asm.core.client.renderer.AccessorItemRenderer;
+import net.daporkchop.pepsimod.asm.core.client.renderer.entity.AccessorRenderManager;
+import net.daporkchop.pepsimod.asm.core.client.settings.AccessorKeyBinding;
+import net.daporkchop.pepsimod.asm.core.entity.AccessorEntity;
+import net.daporkchop.pepsimod.asm.core.entity.AccessorEntityLivingBase;
+import net.daporkchop.pepsimod.asm.core.entity.player.AccessorEntityPlayer;
+import net.daporkchop.pepsimod.asm.core.network.play.client.AccessorCPacketPlayer;
+import net.daporkchop.pepsimod.asm.core.network.play.client.AccessorCPacketVehicleMove;
+import net.daporkchop.pepsimod.asm.core.util.math.AccessorAxisAlignedBB;
+import net.daporkchop.pepsimod.asm.core.util.math.AccessorVec3d;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.gui.GuiDisconnected;
 import net.minecraft.client.gui.GuiScreen;
-import net.minecraft.client.multiplayer.PlayerControllerMP;
-import net.minecraft.client.renderer.ItemRenderer;
 import net.minecraft.client.renderer.RenderItem;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.resources.DefaultResourcePack;
@@ -45,52 +56,24 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.text.translation.LanguageMap;
 import net.minecraftforge.fml.common.FMLLog;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Map;
 import java.util.Set;
 
-//TODO: replace this with Unsafe or access transformers
+/**
+ * Static access to private members of vanilla classes.
+ * <p>
+ * Everything used by core modules is backed by the {@code Accessor*} mixins in {@link net.daporkchop.pepsimod.asm.core}, which compile
+ * down to plain field accesses and are inlined by the JIT. The few members also needed in lite mode (where the core mixins aren't
+ * applied) are resolved once into {@link MethodHandle} constants instead of going through {@link Field} on every call.
+ *
+ * @author DaPorkchop_
+ */
 public class ReflectionStuff {
-    public static Field renderPosX;
-    public static Field renderPosY;
-    public static Field renderPosZ;
-    public static Field sleeping;
-    public static Field PLAYER_MODEL_FLAG;
-    public static Field minX;
-    public static Field minY;
-    public static Field minZ;
-    public static Field maxX;
-    public static Field maxY;
-    public static Field maxZ;
-    public static Field y_vec3d;
-    public static Field timer;
-    public static Field boundingBox;
-    public static Field debugFps;
-    public static Field itemRenderer;
-    public static Field pressed;
-    public static Field ridingEntity;
-    public static Field horseJumpPower;
-    public static Field cPacketPlayer_x;
-    public static Field cPacketPlayer_y;
-    public static Field cPacketPlayer_z;
-    public static Field landMovementFactor;
-    public static Field inWater;
-    public static Field rightClickDelayTimer;
-    public static Field curBlockDamageMP;
-    public static Field blockHitDelay;
-    public static Field cPacketPlayer_onGround;
-    public static Field parentScreen;
-    public static Field DEFAULT_RESOURCE_DOMAINS;
-    public static Field cPacketVehicleMove_y;
-    public static Field currentPlayerItem;
-    public static Field languageMap_instance;
-    public static Field languageMap_languageList;
-
-    public static Method updateFallState;
-    public static Method rightClickMouse;
-
     private static Field modifiersField;
 
     static {
@@ -102,6 +85,21 @@ public class ReflectionStuff {
         }
     }
 
+    private static final MethodHandle LANGUAGEMAP_INSTANCE_GETTER;
+    private static final MethodHandle LANGUAGEMAP_LANGUAGELIST_GETTER;
+    private static final MethodHandle DEFAULT_RESOURCE_DOMAINS_SETTER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LANGUAGEMAP_INSTANCE_GETTER = lookup.unreflectGetter(getField(LanguageMap.class, "instance", "field_74817_a", "c"));
+            LANGUAGEMAP_LANGUAGELIST_GETTER = lookup.unreflectGetter(getField(LanguageMap.class, "languageList", "field_74816_c", "d"));
+            DEFAULT_RESOURCE_DOMAINS_SETTER = lookup.unreflectSetter(getField(DefaultResourcePack.class, "DEFAULT_RESOURCE_DOMAINS", "field_110608_a", "a"));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public static Field getField(Class c, String... names) {
         for (String s : names) {
             try {
@@ -134,483 +132,215 @@ public class ReflectionStuff {
     }
 
     public static void init() {
-        try {
-            renderPosX = getField(RenderManager.class, "renderPosX", "field_78725_b", "o");
-            renderPosY = getField(RenderManager.class, "renderPosY", "field_78726_c", "p");
-            renderPosZ = getField(RenderManager.class, "renderPosZ", "field_78723_d", "q");
-            sleeping = getField(EntityPlayer.class, "sleeping", "field_71083_bS", "bK");
-            PLAYER_MODEL_FLAG = getField(EntityPlayer.class, "PLAYER_MODEL_FLAG", "field_184827_bp", "br");
-            minX = getField(AxisAlignedBB.class, "minX", "field_72340_a", "a");
-            minY = getField(AxisAlignedBB.class, "minY", "field_72338_b", "b");
-            minZ = getField(AxisAlignedBB.class, "minZ", "field_72339_c", "c");
-            maxX = getField(AxisAlignedBB.class, "maxX", "field_72336_d", "d");
-            maxY = getField(AxisAlignedBB.class, "maxY", "field_72337_e", "e");
-            maxZ = getField(AxisAlignedBB.class, "maxZ", "field_72334_f", "f");
-            y_vec3d = getField(Vec3d.class, "y", "field_72448_b", "c");
-            timer = getField(Minecraft.class, "timer", "field_71428_T", "Y");
-            boundingBox = getField(Entity.class, "boundingBox", "field_70121_D", "av");
-            debugFps = getField(Minecraft.class, "debugFPS", "field_71470_ab", "ar");
-            itemRenderer = getField(ItemRenderer.class, "itemRenderer", "field_178112_h", "k");
-            pressed = getField(KeyBinding.class, "pressed", "field_74513_e", "i");
-            ridingEntity = getField(Entity.class, "ridingEntity", "field_184239_as", "au");
-            horseJumpPower = getField(EntityPlayerSP.class, "horseJumpPower", "field_110321_bQ", "cq");
-            cPacketPlayer_x = getField(CPacketPlayer.class, "x", "field_149479_a", "a");
-            cPacketPlayer_y = getField(CPacketPlayer.class, "y", "field_149477_b", "b");
-            cPacketPlayer_z = getField(CPacketPlayer.class, "z", "field_149478_c", "c");
-            inWater = getField(Entity.class, "inWater", "field_70171_ac", "U");
-            landMovementFactor = getField(EntityLivingBase.class, "landMovementFactor", "field_70746_aG", "bC");
-            rightClickDelayTimer = getField(Minecraft.class, "rightClickDelayTimer", "field_71467_ac", "as");
-            blockHitDelay = getField(PlayerControllerMP.class, "blockHitDelay", "field_78781_i", "g");
-            curBlockDamageMP = getField(PlayerControllerMP.class, "curBlockDamageMP", "field_78770_f", "e");
-            cPacketPlayer_onGround = getField(CPacketPlayer.class, "onGround", "field_149474_g", "f");
-            parentScreen = getField(GuiDisconnected.class, "parentScreen", "field_146307_h", "h");
-            DEFAULT_RESOURCE_DOMAINS = getField(DefaultResourcePack.class, "DEFAULT_RESOURCE_DOMAINS", "field_110608_a", "a");
-            cPacketVehicleMove_y = getField(CPacketVehicleMove.class, "y", "field_187008_b", "b");
-            currentPlayerItem = getField(PlayerControllerMP.class, "currentPlayerItem", "field_78777_l", "j");
-            languageMap_instance = getField(LanguageMap.class, "instance", "field_74817_a", "c");
-            languageMap_languageList = getField(LanguageMap.class, "languageList", "field_74816_c", "d");
-
-            updateFallState = getMethod(Entity.class, new String[]{"updateFallState", "func_184231_a", "a"}, double.class, boolean.class, IBlockState.class, BlockPos.class);
-            rightClickMouse = getMethod(Minecraft.class, new String[]{"rightClickMouse", "func_147121_ag", "aB"});
-
-            setDEFAULT_RESOURCE_DOMAINS(ImmutableSet.<String>builder().addAll(DefaultResourcePack.DEFAULT_RESOURCE_DOMAINS).add("wdl").build());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        setDEFAULT_RESOURCE_DOMAINS(ImmutableSet.<String>builder().addAll(DefaultResourcePack.DEFAULT_RESOURCE_DOMAINS).add("wdl").build());
     }
 
     @SuppressWarnings("unchecked")
     public static Map<String, String> getLanguageMapMap() {
         try {
-            return (Map<String, String>) languageMap_languageList.get(languageMap_instance.get(null));
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
+            return (Map<String, String>) LANGUAGEMAP_LANGUAGELIST_GETTER.invoke(getLanguageMap());
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
         }
     }
 
     public static LanguageMap getLanguageMap() {
         try {
-            return (LanguageMap) languageMap_instance.get(null);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
+            return (LanguageMap) LANGUAGEMAP_INSTANCE_GETTER.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
         }
     }
 
-    public static void setCurrentPlayerItem(int i) {
+    public static void setDEFAULT_RESOURCE_DOMAINS(Set<String> n) {
         try {
-            currentPlayerItem.setInt(Minecraft.getMinecraft().playerController, i);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
+            DEFAULT_RESOURCE_DOMAINS_SETTER.invoke(n);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
         }
     }
 
-    public static double getCPacketVehicleMove_y(CPacketVehicleMove n) {
-        try {
-            return cPacketVehicleMove_y.getDouble(n);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
-        }
+    public static void setCurrentPlayerItem(int i) {
+        ((AccessorPlayerControllerMP) Minecraft.getMinecraft().playerController).setCurrentPlayerItem(i);
     }
 
-    public static void setcPacketVehicleMove_y(CPacketVehicleMove n, double y) {
-        try {
-            cPacketVehicleMove_y.setDouble(n, y);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
-        }
+    public static double getCPacketVehicleMove_y(CPacketVehicleMove n) {
+        return ((AccessorCPacketVehicleMove) n).getY();
     }
 
-    public static void setDEFAULT_RESOURCE_DOMAINS(Set<String> n) {
-        try {
-            DEFAULT_RESOURCE_DOMAINS.set(null, n);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
-        }
+    public static void setcPacketVehicleMove_y(CPacketVehicleMove n, double y) {
+        ((AccessorCPacketVehicleMove) n).setY(y);
     }
 
     public static GuiScreen getParentScreen(GuiDisconnected disconnected) {
-        try {
-            return (GuiScreen) parentScreen.get(disconnected);
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorGuiDisconnected) disconnected).getParentScreen();
     }
 
     public static void rightClickMouse() {
-        try {
-            rightClickMouse.invoke(Minecraft.getMinecraft());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorMinecraft) Minecraft.getMinecraft()).invokeRightClickMouse();
     }
 
     public static void setcPacketPlayer_onGround(CPacketPlayer packet, boolean onGround) {
-        try {
-            cPacketPlayer_onGround.setBoolean(packet, onGround);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorCPacketPlayer) packet).setOnGround(onGround);
     }
 
     public static boolean getPressed(KeyBinding binding) {
-        try {
-            return pressed.getBoolean(binding);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorKeyBinding) binding).getPressed();
+    }
+
+    public static void setPressed(KeyBinding keyBinding, boolean state) {
+        ((AccessorKeyBinding) keyBinding).setPressed(state);
     }
 
     public static float getCurBlockDamageMP() {
-        try {
-            return curBlockDamageMP.getFloat(Minecraft.getMinecraft().playerController);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorPlayerControllerMP) Minecraft.getMinecraft().playerController).getCurBlockDamageMP();
     }
 
     public static void setCurBlockDamageMP(float val) {
-        try {
-            curBlockDamageMP.setFloat(Minecraft.getMinecraft().playerController, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorPlayerControllerMP) Minecraft.getMinecraft().playerController).setCurBlockDamageMP(val);
     }
 
     public static int getBlockHitDelay() {
-        try {
-            return blockHitDelay.getInt(Minecraft.getMinecraft().playerController);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorPlayerControllerMP) Minecraft.getMinecraft().playerController).getBlockHitDelay();
     }
 
     public static void setBlockHitDelay(int val) {
-        try {
-            blockHitDelay.setInt(Minecraft.getMinecraft().playerController, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorPlayerControllerMP) Minecraft.getMinecraft().playerController).setBlockHitDelay(val);
     }
 
     public static void setRightClickDelayTimer(int val) {
-        try {
-            rightClickDelayTimer.setInt(Minecraft.getMinecraft(), val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorMinecraft) Minecraft.getMinecraft()).setRightClickDelayTimer(val);
     }
 
     public static void setInWater(Entity entity, boolean y) {
-        try {
-            inWater.setBoolean(entity, y);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorEntity) entity).setInWater(y);
     }
 
     public static void setLandMovementFactor(EntityLivingBase entity, float y) {
-        try {
-            landMovementFactor.setFloat(entity, y);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorEntityLivingBase) entity).setLandMovementFactor(y);
     }
 
     public static void setCPacketPlayer_x(CPacketPlayer packet, double x) {
-        try {
-            cPacketPlayer_x.setDouble(packet, x);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorCPacketPlayer) packet).setX(x);
     }
 
     public static void setCPacketPlayer_y(CPacketPlayer packet, double y) {
-        try {
-            cPacketPlayer_y.setDouble(packet, y);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorCPacketPlayer) packet).setY(y);
     }
 
     public static void setCPacketPlayer_z(CPacketPlayer packet, double z) {
-        try {
-            cPacketPlayer_z.setDouble(packet, z);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorCPacketPlayer) packet).setZ(z);
     }
 
     public static void setHorseJumpPower(float value) {
-        try {
-            horseJumpPower.setFloat(Minecraft.getMinecraft().player, value);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorEntityPlayerSP) Minecraft.getMinecraft().player).setHorseJumpPower(value);
     }
 
     public static void updateEntityFallState(Entity e, double d, boolean b, IBlockState state, BlockPos pos) {
-        try {
-            updateFallState.invoke(e, d, b, state, pos);
-        } catch (Exception exception) {
-            exception.printStackTrace();
-            throw new IllegalStateException(exception);
-        }
+        ((AccessorEntity) e).invokeUpdateFallState(d, b, state, pos);
     }
 
     public static Entity getRidingEntity(Entity toGetFrom) {
-        try {
-            return (Entity) ridingEntity.get(toGetFrom);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
-    }
-
-    public static void setPressed(KeyBinding keyBinding, boolean state) {
-        try {
-            pressed.setBoolean(keyBinding, state);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return toGetFrom.getRidingEntity();
     }
 
     public static RenderItem getItemRenderer() {
-        try {
-            return (RenderItem) itemRenderer.get(Minecraft.getMinecraft().getItemRenderer());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorItemRenderer) Minecraft.getMinecraft().getItemRenderer()).getItemRenderer();
     }
 
     public static int getDebugFps() {
-        try {
-            return debugFps.getInt(null);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return AccessorMinecraft.getDebugFPS();
     }
 
     public static AxisAlignedBB getBoundingBox(Entity entity) {
-        try {
-            return (AxisAlignedBB) boundingBox.get(entity);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return entity.getEntityBoundingBox();
     }
 
     public static Timer getTimer() {
-        try {
-            return (Timer) timer.get(Minecraft.getMinecraft());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorMinecraft) Minecraft.getMinecraft()).getTimer();
     }
 
     public static void setY_vec3d(Vec3d vec, double val) {
-        try {
-            y_vec3d.setDouble(vec, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorVec3d) vec).setY(val);
     }
 
     public static double getMinX(AxisAlignedBB bb) {
-        try {
-            return minX.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.minX;
     }
 
     public static double getMinY(AxisAlignedBB bb) {
-        try {
-            return minY.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.minY;
     }
 
     public static double getMinZ(AxisAlignedBB bb) {
-        try {
-            return minZ.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.minZ;
     }
 
     public static double getMaxX(AxisAlignedBB bb) {
-        try {
-            return maxX.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.maxX;
     }
 
     public static double getMaxY(AxisAlignedBB bb) {
-        try {
-            return maxY.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.maxY;
     }
 
     public static double getMaxZ(AxisAlignedBB bb) {
-        try {
-            return maxZ.getDouble(bb);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return bb.maxZ;
     }
 
     public static void setMinX(AxisAlignedBB bb, double val) {
-        try {
-            minX.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMinX(val);
     }
 
     public static void setMinY(AxisAlignedBB bb, double val) {
-        try {
-            minY.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMinY(val);
     }
 
     public static void setMinZ(AxisAlignedBB bb, double val) {
-        try {
-            minZ.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMinZ(val);
     }
 
     public static void setMaxX(AxisAlignedBB bb, double val) {
-        try {
-            maxX.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMaxX(val);
     }
 
     public static void setMaxY(AxisAlignedBB bb, double val) {
-        try {
-            maxY.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMaxY(val);
     }
 
     public static void setMaxZ(AxisAlignedBB bb, double val) {
-        try {
-            maxZ.setDouble(bb, val);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        ((AccessorAxisAlignedBB) bb).setMaxZ(val);
     }
 
     public static DataParameter<Byte> getPLAYER_MODEL_FLAG() {
-        try {
-            return (DataParameter<Byte>) PLAYER_MODEL_FLAG.get(null);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return AccessorEntityPlayer.getPLAYER_MODEL_FLAG();
     }
 
     public static double getRenderPosX(RenderManager mgr) {
-        try {
-            return renderPosX.getDouble(mgr);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorRenderManager) mgr).getRenderPosX();
     }
 
     public static double getRenderPosY(RenderManager mgr) {
-        try {
-            return renderPosY.getDouble(mgr);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorRenderManager) mgr).getRenderPosY();
     }
 
     public static double getRenderPosZ(RenderManager mgr) {
-        try {
-            return renderPosZ.getDouble(mgr);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorRenderManager) mgr).getRenderPosZ();
     }
 
     public static double getRenderPosX() {
-        try {
-            return renderPosX.getDouble(Minecraft.getMinecraft().getRenderManager());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return getRenderPosX(Minecraft.getMinecraft().getRenderManager());
     }
 
     public static double getRenderPosY() {
-        try {
-            return renderPosY.getDouble(Minecraft.getMinecraft().getRenderManager());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return getRenderPosY(Minecraft.getMinecraft().getRenderManager());
     }
 
     public static double getRenderPosZ() {
-        try {
-            return renderPosZ.getDouble(Minecraft.getMinecraft().getRenderManager());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return getRenderPosZ(Minecraft.getMinecraft().getRenderManager());
     }
 
     public static boolean getSleeping(EntityPlayer mgr) {
-        try {
-            return sleeping.getBoolean(mgr);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException(e);
-        }
+        return ((AccessorEntityPlayer) mgr).getSleeping();
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util.colors.rainbow;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.WorldVertexBufferUploader;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.ResourceLocation;
+
+import static net.minecraft.util.math.MathHelper.*;
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * Draws glyphs from the default font page into a single {@link BufferBuilder}, so that any number of strings can be
+ * drawn with one draw call instead of one immediate-mode primitive per character.
+ * <p>
+ * Mirrors the geometry produced by {@link FontRenderer#drawStringWithShadow(String, float, float, int)} for the
+ * printable ASCII range. Callers must check {@link #canBatch(char)} and fall back to the {@link FontRenderer} for
+ * anything else.
+ *
+ * @author DaPorkchop_
+ */
+public final class RainbowBatch {
+    /**
+     * The number of entries in the rainbow color table. Must be a power of 2!
+     */
+    public static final int TABLE_SIZE = 1024;
+
+    /**
+     * Time (in ms) per full rainbow cycle
+     */
+    public static final long SPEED = 5000L;
+
+    private static final int[] RAINBOW = new int[TABLE_SIZE];
+    private static final ResourceLocation FONT_TEXTURE = new ResourceLocation("textures/font/ascii.png");
+
+    //not using the Tessellator's buffer, as anything falling back to the FontRenderer mid-batch might need it
+    private static final BufferBuilder BUFFER = new BufferBuilder(0x4000);
+    private static final WorldVertexBufferUploader UPLOADER = new WorldVertexBufferUploader();
+
+    /**
+     * cos((360° - 45°) + 180°), scaled so that screen distances map directly to fractions of a rainbow cycle
+     */
+    private static final double PHASE_PER_PIXEL = 0.7071067811865483d * (4.0d / 255.0d) / (2.0d * Math.PI);
+
+    private static boolean active;
+    private static double timePhase;
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            double pos = i * 2.0d * Math.PI / TABLE_SIZE;
+            RAINBOW[i] = 0xFF000000
+                         | clamp(floor(255.0d * (0.5d + Math.sin(0.0d / 3.0d * Math.PI + pos))), 0, 255) << 16
+                         | clamp(floor(255.0d * (0.5d + Math.sin(2.0d / 3.0d * Math.PI + pos))), 0, 255) << 8
+                         | clamp(floor(255.0d * (0.5d + Math.sin(4.0d / 3.0d * Math.PI + pos))), 0, 255);
+        }
+    }
+
+    /**
+     * Gets the rainbow color at a given screen position at the current time.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the color, in ARGB format
+     */
+    public static int rainbow(double x, double y) {
+        return rainbow(x, y, active ? timePhase : currentTimePhase());
+    }
+
+    private static int rainbow(double x, double y, double timePhase) {
+        return RAINBOW[(int) floor(((x + y) * PHASE_PER_PIXEL + timePhase) * TABLE_SIZE) & (TABLE_SIZE - 1)];
+    }
+
+    private static double currentTimePhase() {
+        return (System.currentTimeMillis() % SPEED) / (double) SPEED;
+    }
+
+    /**
+     * @return whether or not a batch is currently being built
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Checks whether or not a character can be drawn as part of a batch
+     *
+     * @param c the character
+     * @return whether or not the character can be batched
+     */
+    public static boolean canBatch(char c) {
+        return c >= ' ' && c <= '~';
+    }
+
+    /**
+     * Checks whether or not the current font renderer can be batched at all
+     *
+     * @return whether or not batching is possible
+     */
+    public static boolean isSupported() {
+        FontRenderer fontRenderer = Minecraft.getMinecraft().fontRenderer;
+        return !fontRenderer.getUnicodeFlag() && !fontRenderer.getBidiFlag();
+    }
+
+    /**
+     * Starts a new batch. All rainbow colors in the batch will be computed for the time at which the batch was started.
+     *
+     * @return whether or not a batch was started. If {@code false}, text must be drawn using the {@link FontRenderer}
+     */
+    public static boolean begin() {
+        if (active) {
+            throw new IllegalStateException("Already batching!");
+        } else if (!isSupported()) {
+            return false;
+        }
+
+        active = true;
+        timePhase = currentTimePhase();
+        BUFFER.begin(GL_QUADS, DefaultVertexFormats.POSITION_TEX_COLOR);
+        return true;
+    }
+
+    /**
+     * Adds a single rainbow-colored glyph (along with its shadow) to the current batch
+     *
+     * @param c the character. Must be batchable (see {@link #canBatch(char)})
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    public static void rainbowGlyph(char c, float x, float y) {
+        glyph(c, x, y, rainbow(x, y, timePhase));
+    }
+
+    /**
+     * Adds a single glyph (along with its shadow) to the current batch
+     *
+     * @param c     the character. Must be batchable (see {@link #canBatch(char)})
+     * @param x     the x coordinate
+     * @param y     the y coordinate
+     * @param color the color, in ARGB format
+     */
+    public static void glyph(char c, float x, float y, int color) {
+        if (c == ' ') {
+            return; //spaces don't have a glyph
+        }
+        if ((color & 0xFC000000) == 0) {
+            color |= 0xFF000000;
+        }
+
+        float u = (c & 15) * 8 / 128.0f;
+        float v = (c >> 4) * 8 / 128.0f;
+        float w = Minecraft.getMinecraft().fontRenderer.getCharWidth(c) - 1.01f;
+
+        //same as FontRenderer: shadow is offset by 1 pixel and darkened
+        quad(x + 1.0f, y + 1.0f, u, v, w, (color & 0xFCFCFC) >> 2 | color & 0xFF000000);
+        quad(x, y, u, v, w, color);
+    }
+
+    private static void quad(float x, float y, float u, float v, float w, int color) {
+        int a = color >>> 24;
+        int r = (color >> 16) & 0xFF;
+        int g = (color >> 8) & 0xFF;
+        int b = color & 0xFF;
+        BUFFER.pos(x, y, 0.0d).tex(u, v).color(r, g, b, a).endVertex();
+        BUFFER.pos(x, y + 7.99f, 0.0d).tex(u, v + 7.99f / 128.0f).color(r, g, b, a).endVertex();
+        BUFFER.pos(x + w, y + 7.99f, 0.0d).tex(u + w / 128.0f, v + 7.99f / 128.0f).color(r, g, b, a).endVertex();
+        BUFFER.pos(x + w, y, 0.0d).tex(u + w / 128.0f, v).color(r, g, b, a).endVertex();
+    }
+
+    /**
+     * Draws all glyphs added since {@link #begin()} in a single draw call
+     */
+    public static void end() {
+        if (!active) {
+            throw new IllegalStateException("Not batching!");
+        }
+
+        active = false;
+        BUFFER.finishDrawing();
+        GlStateManager.enableTexture2D();
+        GlStateManager.enableAlpha();
+        Minecraft.getMinecraft().getTextureManager().bindTexture(FONT_TEXTURE);
+        UPLOADER.draw(BUFFER);
+        GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
+    }
+
+    private RainbowBatch() {
+        throw new IllegalStateException();
+    }
+}
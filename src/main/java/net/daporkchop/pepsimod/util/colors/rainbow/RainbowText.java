@@ -25,14 +25,9 @@ import net.daporkchop.pepsimod.util.colors.ColorizedElement;
 import net.daporkchop.pepsimod.util.colors.ColorizedText;
 import net.daporkchop.pepsimod.util.colors.FixedColorElement;
 import net.daporkchop.pepsimod.util.colors.PlainColorElement;
-import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.Gui;
 
-import java.awt.Color;
-
-import static net.minecraft.util.math.MathHelper.*;
-
 public class RainbowText extends ColorizedText {
     private final ColorizedElement[] elements;
     private final int width;
@@ -72,26 +67,18 @@ public class RainbowText extends ColorizedText {
         int i = 0;
         for (ColorizedElement element : this.elements) {
             if (element instanceof FixedColorElement) {
-                screen.drawString(Minecraft.getMinecraft().fontRenderer, element.text, x + i, y, ((FixedColorElement) element).color);
+                screen.drawString(this.fontRenderer, element.text, x + i, y, ((FixedColorElement) element).color);
                 return;
             }
-            int color = rainbow(x + i, y);
-            screen.drawString(Minecraft.getMinecraft().fontRenderer, element.text, x + i, y, color);
+            if (RainbowBatch.isActive() && element.text.length() == 1 && RainbowBatch.canBatch(element.text.charAt(0))) {
+                RainbowBatch.rainbowGlyph(element.text.charAt(0), x + i, y);
+            } else {
+                screen.drawString(this.fontRenderer, element.text, x + i, y, RainbowBatch.rainbow(x + i, y));
+            }
             i += element.width;
         }
     }
 
-    private static int rainbow(double x, double y) {
-        double scale = 4.0d / 255.0d;
-        double speed = 5000.0d; //time (in ms) per full rainbow cycle
-        double d = 0.7071067811865483d; //cos((360° - 45°) + 180°)
-        double pos = (x * d + y * d) * scale + (System.currentTimeMillis() % speed) * 2.0d * Math.PI / speed;
-        return 0xFF000000
-               | clamp(floor(255.0d * (0.5d + Math.sin(0.0d / 3.0d * Math.PI + pos))), 0, 255) << 16
-               | clamp(floor(255.0d * (0.5d + Math.sin(2.0d / 3.0d * Math.PI + pos))), 0, 255) << 8
-               | clamp(floor(255.0d * (0.5d + Math.sin(4.0d / 3.0d * Math.PI + pos))), 0, 255);
-    }
-
     public void drawAtPos(Gui screen, int x, int y, int offset) {
         int tempOffset = this.offset;
         this.offset = offset;
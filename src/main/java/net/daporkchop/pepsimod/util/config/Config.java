@@ -20,10 +20,12 @@
 
 package net.daporkchop.pepsimod.util.config;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.daporkchop.pepsimod.util.PepsiConstants;
 import net.daporkchop.pepsimod.util.config.impl.AnnouncerTranslator;
 import net.daporkchop.pepsimod.util.config.impl.AntiAFKTranslator;
 import net.daporkchop.pepsimod.util.config.impl.AutoEatTranslator;
@@ -49,14 +51,50 @@ import net.daporkchop.pepsimod.util.config.impl.TargettingTranslator;
 import net.daporkchop.pepsimod.util.config.impl.TimerTranslator;
 import net.daporkchop.pepsimod.util.config.impl.TracersTranslator;
 import net.daporkchop.pepsimod.util.config.impl.VelocityTranslator;
+import net.daporkchop.pepsimod.util.config.impl.WaypointsTranslator;
+import net.minecraft.client.Minecraft;
 import net.minecraftforge.fml.common.FMLLog;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Config {
     private static Map<String, IConfigTranslator> TRANSLATORS = new HashMap<>();
 
+    /**
+     * The most recently encoded state of each translator, used to detect which translators have changed since the last save. Cleared when a
+     * write fails, so that the next save is never skipped.
+     */
+    private static final Map<String, String> ENCODED = new HashMap<>();
+    /**
+     * The {@link IConfigTranslator#modCount()} of each translator when it was last encoded, for translators that track their own changes.
+     */
+    private static final Map<String, Integer> ENCODED_MOD_COUNTS = new HashMap<>();
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "pepsimod config writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long SAVE_DELAY = 2L; //seconds
+
+    private static ScheduledFuture<?> pendingSave;
+    private static Future<?> lastWrite = CompletableFuture.completedFuture(null);
+
     static {
         registerConfigTranslator(AnnouncerTranslator.INSTANCE);
         registerConfigTranslator(AntiAFKTranslator.INSTANCE);
@@ -83,38 +121,153 @@ public class Config {
         registerConfigTranslator(TimerTranslator.INSTANCE);
         registerConfigTranslator(TracersTranslator.INSTANCE);
         registerConfigTranslator(VelocityTranslator.INSTANCE);
+        registerConfigTranslator(WaypointsTranslator.INSTANCE);
     }
 
     public static void registerConfigTranslator(IConfigTranslator element) {
         TRANSLATORS.put(element.name(), element);
     }
 
-    public static void loadConfig(String configJson) {
+    /**
+     * Loads the config from the given reader.
+     * <p>
+     * The document is streamed straight into each translator, so no intermediate JSON tree is built. Unknown sections are skipped. If the
+     * document is malformed, the sections before the error are kept and all following sections stay at their defaults.
+     *
+     * @return whether or not the whole document could be read
+     */
+    public static boolean loadConfig(Reader reader) {
         System.out.println("Loading config!");
-        System.out.println(configJson);
 
-        JsonObject object = null;
+        String section = null;
         try {
-            object = new JsonParser().parse(configJson).getAsJsonObject();
-        } catch (IllegalStateException e) {
-            //Thrown when the config is an empty string
-            FMLLog.info("Using default config because the file is empty or unreadable");
-            return;
+            JsonReader in = new JsonReader(reader);
+            in.setLenient(true);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = section = in.nextName();
+                IConfigTranslator translator = TRANSLATORS.get(name);
+                if (translator == null || in.peek() != JsonToken.BEGIN_OBJECT) {
+                    FMLLog.log.warn("Skipping unknown config section: {}", name);
+                    in.skipValue();
+                } else {
+                    translator.read(in);
+                }
+            }
+            in.endObject();
+            return true;
+        } catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+            //Thrown when the config is empty or malformed
+            if (section == null) {
+                FMLLog.info("Using default config because the file is empty or unreadable");
+            } else {
+                FMLLog.log.error("Config is malformed in or after section \"{}\", the sections before it were loaded and all others use defaults", section, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Saves the config to the given file.
+     * <p>
+     * Must be called on the client thread. Every translator whose {@link IConfigTranslator#modCount()} shows that it may have changed is
+     * serialized to a string on the calling thread, so that the snapshot is consistent. Only joining the sections and file I/O happen on a
+     * background thread. If no translator has changed since the last save, nothing is written at all.
+     */
+    public static synchronized void saveConfig(File file) {
+        boolean dirty = !file.exists();
+        for (IConfigTranslator translator : TRANSLATORS.values()) {
+            int modCount = translator.modCount();
+            if (modCount != -1 && ENCODED.containsKey(translator.name()) && ENCODED_MOD_COUNTS.getOrDefault(translator.name(), -1) == modCount) {
+                //unchanged since it was last encoded, skip serializing it again
+                continue;
+            }
+
+            StringWriter buffer = new StringWriter();
+            try {
+                JsonWriter writer = new JsonWriter(buffer);
+                writer.setLenient(true); //like Gson.toJson, tolerate NaN and infinite values instead of failing the whole save
+                translator.write(writer);
+            } catch (IOException e) {
+                //can't happen, StringWriter doesn't throw
+                throw new IllegalStateException(e);
+            }
+            if (!buffer.toString().equals(ENCODED.put(translator.name(), buffer.toString()))) {
+                dirty = true;
+            }
+            ENCODED_MOD_COUNTS.put(translator.name(), modCount);
         }
-        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
-            TRANSLATORS.getOrDefault(entry.getKey(), NullConfigTranslator.INSTANCE).decode(entry.getKey(), entry.getValue().getAsJsonObject());
+
+        if (dirty) {
+            //strings are immutable, so the snapshot can be handed to the writer thread as-is
+            Map<String, String> snapshot = new HashMap<>(ENCODED);
+            lastWrite = WRITER.submit(() -> {
+                if (!write(file, snapshot)) {
+                    //forget what was encoded so that the next save retries instead of assuming the file is up to date
+                    synchronized (Config.class) {
+                        ENCODED.clear();
+                        ENCODED_MOD_COUNTS.clear();
+                    }
+                }
+            });
         }
     }
 
-    public static String saveConfig() {
-        JsonObject object = new JsonObject();
+    /**
+     * Requests that the config be saved soon. Repeated requests within a short time (e.g. while dragging a slider) are coalesced into a single
+     * save.
+     */
+    public static synchronized void requestSave() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        pendingSave = WRITER.schedule(() -> Minecraft.getMinecraft().addScheduledTask(() -> PepsiConstants.pepsimod.saveConfig()), SAVE_DELAY, TimeUnit.SECONDS);
+    }
 
-        for (IConfigTranslator translator : TRANSLATORS.values()) {
-            JsonObject elementObj = new JsonObject();
-            translator.encode(elementObj);
-            object.add(translator.name(), elementObj);
+    /**
+     * Waits for the most recent save to be written to disk.
+     */
+    public static void flush() {
+        Future<?> future;
+        synchronized (Config.class) {
+            future = lastWrite;
+        }
+        try {
+            future.get(10L, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            FMLLog.log.error("Unable to finish writing config", e);
         }
+    }
 
-        return new Gson().toJson(object);
+    /**
+     * @return whether or not the file was written successfully
+     */
+    private static boolean write(File file, Map<String, String> sections) {
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                out.write('{');
+                boolean first = true;
+                for (Map.Entry<String, String> entry : sections.entrySet()) {
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    out.write(new JsonPrimitive(entry.getKey()).toString());
+                    out.write(':');
+                    out.write(entry.getValue());
+                }
+                out.write('}');
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            FMLLog.log.error("Unable to write config to {}", file, e);
+            return false;
+        }
     }
 }
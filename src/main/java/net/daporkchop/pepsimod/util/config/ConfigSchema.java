@@ -0,0 +1,357 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the simple fields of an {@link IConfigTranslator} once, so that it can be streamed directly to and from JSON without building an
+ * intermediate tree.
+ * <p>
+ * Supported field types are all primitives except {@code char}, {@link String} and enums (which are stored by ordinal).
+ *
+ * @author DaPorkchop_
+ */
+public final class ConfigSchema {
+    public static Builder builder(Class<? extends IConfigTranslator> clazz) {
+        return new Builder(clazz);
+    }
+
+    private final String[] keys;
+    private final Type[] types;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final Object[][] enumConstants;
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    private ConfigSchema(List<String> keys, List<Field> fields) {
+        int size = keys.size();
+        this.keys = keys.toArray(new String[size]);
+        this.types = new Type[size];
+        this.getters = new MethodHandle[size];
+        this.setters = new MethodHandle[size];
+        this.enumConstants = new Object[size][];
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (int i = 0; i < size; i++) {
+            Field field = fields.get(i);
+            Class<?> fieldType = field.getType();
+            Type type = this.types[i] = Type.of(fieldType);
+            Class<?> handleType = type == Type.ENUM ? Object.class : fieldType;
+            try {
+                field.setAccessible(true);
+                this.getters[i] = lookup.unreflectGetter(field).asType(MethodType.methodType(handleType, Object.class));
+                this.setters[i] = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, handleType));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("unable to access field: " + field, e);
+            }
+            if (type == Type.ENUM) {
+                this.enumConstants[i] = fieldType.getEnumConstants();
+            }
+            this.indices.put(this.keys[i], i);
+        }
+    }
+
+    /**
+     * Writes all fields of the given translator as a JSON object.
+     */
+    public void write(Object translator, JsonWriter out) throws IOException {
+        out.beginObject();
+        try {
+            for (int i = 0; i < this.keys.length; i++) {
+                out.name(this.keys[i]);
+                MethodHandle getter = this.getters[i];
+                switch (this.types[i]) {
+                    case BOOLEAN:
+                        out.value((boolean) getter.invokeExact(translator));
+                        break;
+                    case BYTE:
+                        out.value((byte) getter.invokeExact(translator));
+                        break;
+                    case SHORT:
+                        out.value((short) getter.invokeExact(translator));
+                        break;
+                    case INT:
+                        out.value((int) getter.invokeExact(translator));
+                        break;
+                    case LONG:
+                        out.value((long) getter.invokeExact(translator));
+                        break;
+                    case FLOAT: //write floats the same way Gson does, otherwise they'd be widened to double first
+                        out.value((Number) (float) getter.invokeExact(translator));
+                        break;
+                    case DOUBLE:
+                        out.value((double) getter.invokeExact(translator));
+                        break;
+                    case STRING:
+                        out.value((String) getter.invokeExact(translator));
+                        break;
+                    case ENUM:
+                        out.value(((Enum) (Object) getter.invokeExact(translator)).ordinal());
+                        break;
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        out.endObject();
+    }
+
+    /**
+     * Reads a JSON object into the fields of the given translator.
+     * <p>
+     * Unknown keys and values of the wrong type are skipped, leaving the corresponding field at its current value.
+     */
+    public void read(Object translator, JsonReader in) throws IOException {
+        in.beginObject();
+        try {
+            while (in.hasNext()) {
+                Integer index = this.indices.get(in.nextName());
+                JsonToken token = in.peek();
+                if (index == null) {
+                    in.skipValue();
+                    continue;
+                }
+
+                int i = index;
+                MethodHandle setter = this.setters[i];
+                Type type = this.types[i];
+                if (type == Type.BOOLEAN && token == JsonToken.BOOLEAN) {
+                    setter.invokeExact(translator, in.nextBoolean());
+                } else if (type == Type.STRING && token == JsonToken.STRING) {
+                    setter.invokeExact(translator, in.nextString());
+                } else if (type.numeric && token == JsonToken.NUMBER) {
+                    switch (type) {
+                        case BYTE:
+                            setter.invokeExact(translator, (byte) in.nextDouble());
+                            break;
+                        case SHORT:
+                            setter.invokeExact(translator, (short) in.nextDouble());
+                            break;
+                        case INT:
+                            setter.invokeExact(translator, (int) in.nextDouble());
+                            break;
+                        case LONG:
+                            setter.invokeExact(translator, in.nextLong());
+                            break;
+                        case FLOAT:
+                            setter.invokeExact(translator, (float) in.nextDouble());
+                            break;
+                        case DOUBLE:
+                            setter.invokeExact(translator, in.nextDouble());
+                            break;
+                        case ENUM:
+                            this.setEnum(translator, i, (int) in.nextDouble());
+                            break;
+                    }
+                } else {
+                    in.skipValue();
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        in.endObject();
+    }
+
+    /**
+     * Encodes all fields of the given translator into a JSON tree.
+     */
+    public void encode(Object translator, JsonObject json) {
+        try {
+            for (int i = 0; i < this.keys.length; i++) {
+                MethodHandle getter = this.getters[i];
+                switch (this.types[i]) {
+                    case BOOLEAN:
+                        json.addProperty(this.keys[i], (boolean) getter.invokeExact(translator));
+                        break;
+                    case STRING:
+                        json.addProperty(this.keys[i], (String) getter.invokeExact(translator));
+                        break;
+                    case ENUM:
+                        json.addProperty(this.keys[i], ((Enum) (Object) getter.invokeExact(translator)).ordinal());
+                        break;
+                    default:
+                        json.addProperty(this.keys[i], (Number) getter.invoke(translator));
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Decodes the fields of the given translator from a JSON tree, with the same rules as {@link #read(Object, JsonReader)}.
+     */
+    public void decode(Object translator, JsonObject json) {
+        try {
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                Integer index = this.indices.get(entry.getKey());
+                if (index == null || !entry.getValue().isJsonPrimitive()) {
+                    continue;
+                }
+
+                int i = index;
+                JsonPrimitive value = entry.getValue().getAsJsonPrimitive();
+                Type type = this.types[i];
+                if (type == Type.BOOLEAN && value.isBoolean()) {
+                    this.setters[i].invokeExact(translator, value.getAsBoolean());
+                } else if (type == Type.STRING && value.isString()) {
+                    this.setters[i].invokeExact(translator, value.getAsString());
+                } else if (type == Type.ENUM && value.isNumber()) {
+                    this.setEnum(translator, i, value.getAsInt());
+                } else if (type.numeric && value.isNumber()) {
+                    this.setters[i].invoke(translator, type.convert(value.getAsNumber()));
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private void setEnum(Object translator, int i, int ordinal) throws Throwable {
+        Object[] constants = this.enumConstants[i];
+        if (ordinal >= 0 && ordinal < constants.length) {
+            this.setters[i].invokeExact(translator, constants[ordinal]);
+        }
+    }
+
+    private enum Type {
+        BOOLEAN(false),
+        BYTE(true),
+        SHORT(true),
+        INT(true),
+        LONG(true),
+        FLOAT(true),
+        DOUBLE(true),
+        STRING(false),
+        ENUM(true);
+
+        static Type of(Class<?> clazz) {
+            if (clazz == boolean.class) {
+                return BOOLEAN;
+            } else if (clazz == byte.class) {
+                return BYTE;
+            } else if (clazz == short.class) {
+                return SHORT;
+            } else if (clazz == int.class) {
+                return INT;
+            } else if (clazz == long.class) {
+                return LONG;
+            } else if (clazz == float.class) {
+                return FLOAT;
+            } else if (clazz == double.class) {
+                return DOUBLE;
+            } else if (clazz == String.class) {
+                return STRING;
+            } else if (clazz.isEnum()) {
+                return ENUM;
+            } else {
+                throw new IllegalArgumentException("unsupported config field type: " + clazz);
+            }
+        }
+
+        final boolean numeric;
+
+        Type(boolean numeric) {
+            this.numeric = numeric;
+        }
+
+        Object convert(Number number) {
+            switch (this) {
+                case BYTE:
+                    return number.byteValue();
+                case SHORT:
+                    return number.shortValue();
+                case INT:
+                    return number.intValue();
+                case LONG:
+                    return number.longValue();
+                case FLOAT:
+                    return number.floatValue();
+                case DOUBLE:
+                    return number.doubleValue();
+                default:
+                    throw new IllegalStateException(this.name());
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final Class<?> clazz;
+        private final List<String> keys = new ArrayList<>();
+        private final List<Field> fields = new ArrayList<>();
+
+        private Builder(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        /**
+         * Adds fields which are stored under their own names.
+         */
+        public Builder add(String... fields) {
+            for (String field : fields) {
+                this.alias(field, field);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a field which is stored under a different name.
+         */
+        public Builder alias(String key, String field) {
+            try {
+                this.fields.add(this.clazz.getDeclaredField(field));
+                this.keys.add(key);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException(String.format("no field %s in %s", field, this.clazz), e);
+            }
+            return this;
+        }
+
+        public ConfigSchema build() {
+            return new ConfigSchema(this.keys, this.fields);
+        }
+    }
+}
@@ -20,17 +20,74 @@
 
 package net.daporkchop.pepsimod.util.config;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 public interface IConfigTranslator {
-    void encode(JsonObject json);
+    default void encode(JsonObject json) {
+        this.schema().encode(this, json);
+    }
 
-    void decode(String fieldName, JsonObject json);
+    default void decode(String fieldName, JsonObject json) {
+        this.schema().decode(this, json);
+    }
 
     String name();
 
+    /**
+     * @return a description of this translator's fields, or {@code null} if it encodes and decodes itself
+     */
+    default ConfigSchema schema() {
+        return null;
+    }
+
+    /**
+     * Gets a counter which changes every time this translator's state is modified, allowing saves to skip re-encoding translators that
+     * haven't changed.
+     *
+     * @return the modification counter, or {@code -1} if this translator doesn't track its changes and must always be re-encoded
+     */
+    default int modCount() {
+        return -1;
+    }
+
+    /**
+     * Writes this translator's state as a JSON object.
+     * <p>
+     * Translators with a {@link #schema()} are streamed directly, all others are encoded into a tree first.
+     */
+    default void write(JsonWriter out) throws IOException {
+        ConfigSchema schema = this.schema();
+        if (schema != null) {
+            schema.write(this, out);
+        } else {
+            JsonObject json = new JsonObject();
+            this.encode(json);
+            new Gson().toJson(json, out);
+        }
+    }
+
+    /**
+     * Reads this translator's state from a JSON object.
+     * <p>
+     * Translators with a {@link #schema()} are streamed directly, all others are decoded from a tree.
+     */
+    default void read(JsonReader in) throws IOException {
+        ConfigSchema schema = this.schema();
+        if (schema != null) {
+            schema.read(this, in);
+        } else {
+            this.decode(this.name(), new JsonParser().parse(in).getAsJsonObject());
+        }
+    }
+
     default int getInt(JsonObject object, String name, int def) {
         if (object.has(name)) {
             JsonElement element = object.get(name);
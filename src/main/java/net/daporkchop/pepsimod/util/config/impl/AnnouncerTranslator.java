@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class AnnouncerTranslator implements IConfigTranslator {
     public static final AnnouncerTranslator INSTANCE = new AnnouncerTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(AnnouncerTranslator.class)
+            .add("clientSide", "join", "leave", "eat", "walk", "mine", "place", "delay")
+            .build();
     public boolean clientSide = false;
     public boolean join = false;
     public boolean leave = false;
@@ -38,26 +41,9 @@ public class AnnouncerTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("clientSide", this.clientSide);
-        json.addProperty("join", this.join);
-        json.addProperty("leave", this.leave);
-        json.addProperty("eat", this.eat);
-        json.addProperty("walk", this.walk);
-        json.addProperty("mine", this.mine);
-        json.addProperty("place", this.place);
-        json.addProperty("delay", this.delay);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.clientSide = this.getBoolean(json, "clientSide", this.clientSide);
-        this.join = this.getBoolean(json, "join", this.join);
-        this.leave = this.getBoolean(json, "leave", this.leave);
-        this.eat = this.getBoolean(json, "eat", this.eat);
-        this.walk = this.getBoolean(json, "walk", this.walk);
-        this.mine = this.getBoolean(json, "mine", this.mine);
-        this.place = this.getBoolean(json, "place", this.place);
-        this.delay = this.getInt(json, "delay", this.delay);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
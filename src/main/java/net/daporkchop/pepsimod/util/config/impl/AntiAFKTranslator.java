@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class AntiAFKTranslator implements IConfigTranslator {
     public static final AntiAFKTranslator INSTANCE = new AntiAFKTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(AntiAFKTranslator.class)
+            .add("spin", "sneak", "swingArm", "move", "strafe", "delay", "requireInactive")
+            .build();
 
     //spinning
     public boolean spin = false;
@@ -39,24 +42,9 @@ public class AntiAFKTranslator implements IConfigTranslator {
     private AntiAFKTranslator() {
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("spin", this.spin);
-        json.addProperty("sneak", this.sneak);
-        json.addProperty("swingArm", this.swingArm);
-        json.addProperty("move", this.move);
-        json.addProperty("strafe", this.strafe);
-        json.addProperty("delay", this.delay);
-        json.addProperty("requireInactive", this.requireInactive);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.spin = this.getBoolean(json, "spin", this.spin);
-        this.sneak = this.getBoolean(json, "sneak", this.sneak);
-        this.swingArm = this.getBoolean(json, "swingArm", this.swingArm);
-        this.move = this.getBoolean(json, "move", this.move);
-        this.strafe = this.getBoolean(json, "strafe", this.strafe);
-        this.delay = this.getInt(json, "delay", this.delay);
-        this.requireInactive = this.getBoolean(json, "requireInactive", this.requireInactive);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class AutoEatTranslator implements IConfigTranslator {
     public static final AutoEatTranslator INSTANCE = new AutoEatTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(AutoEatTranslator.class)
+            .add("threshold")
+            .build();
     public float threshold = 7f;
 
     private AutoEatTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("threshold", this.threshold);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.threshold = this.getFloat(json, "threshold", this.threshold);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class BedBomberTranslator implements IConfigTranslator {
     public static final BedBomberTranslator INSTANCE = new BedBomberTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(BedBomberTranslator.class)
+            .add("range", "delay", "resupply")
+            .build();
     public float range = 4.0f;
     public int delay = 500;
     public boolean resupply = true;
@@ -33,16 +36,9 @@ public class BedBomberTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("range", this.range);
-        json.addProperty("delay", this.delay);
-        json.addProperty("resupply", this.resupply);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.range = this.getFloat(json, "range", this.range);
-        this.delay = this.getInt(json, "delay", this.delay);
-        this.resupply = this.getBoolean(json, "resupply", this.resupply);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class CpuLimitTranslator implements IConfigTranslator {
     public static final CpuLimitTranslator INSTANCE = new CpuLimitTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(CpuLimitTranslator.class)
+            .add("limit")
+            .build();
     public int limit = 5;
 
     private CpuLimitTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("limit", this.limit);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.limit = this.getInt(json, "limit", this.limit);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
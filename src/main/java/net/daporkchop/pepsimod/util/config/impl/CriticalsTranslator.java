@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class CriticalsTranslator implements IConfigTranslator {
     public static final CriticalsTranslator INSTANCE = new CriticalsTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(CriticalsTranslator.class)
+            .add("packet")
+            .build();
     public boolean packet = true;
 
     private CriticalsTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("packet", this.packet);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.packet = this.getBoolean(json, "packet", this.packet);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class CrystalAuraTranslator implements IConfigTranslator {
     public static final CrystalAuraTranslator INSTANCE = new CrystalAuraTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(CrystalAuraTranslator.class)
+            .add("speed", "range")
+            .build();
     public float speed = 1.0f;
     public float range = 3.8f;
 
@@ -32,14 +35,9 @@ public class CrystalAuraTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("speed", this.speed);
-        json.addProperty("range", this.range);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.speed = this.getFloat(json, "speed", this.speed);
-        this.range = this.getFloat(json, "range", this.range);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,15 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class ESPTranslator implements IConfigTranslator {
     public static final ESPTranslator INSTANCE = new ESPTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(ESPTranslator.class)
+            .add("basic", "trapped", "ender", "hopper", "furnace", "monsters", "animals", "players", "golems")
+            .add("invisible", "friendColors", "box", "maxDistance", "lodDistance")
+            .build();
     public boolean basic = false;
     public boolean trapped = false;
     public boolean ender = false;
@@ -39,40 +43,16 @@ public class ESPTranslator implements IConfigTranslator {
     public boolean friendColors = true;
     public boolean box = false;
 
-    private ESPTranslator() {
-
-    }
+    public float maxDistance = 512.0f;
+    public float lodDistance = 128.0f;
 
-    public void encode(JsonObject json) {
-        json.addProperty("basic", this.basic);
-        json.addProperty("trapped", this.trapped);
-        json.addProperty("ender", this.ender);
-        json.addProperty("hopper", this.hopper);
-        json.addProperty("furnace", this.furnace);
+    private ESPTranslator() {
 
-        json.addProperty("monsters", this.monsters);
-        json.addProperty("animals", this.animals);
-        json.addProperty("players", this.players);
-        json.addProperty("golems", this.golems);
-        json.addProperty("invisible", this.invisible);
-        json.addProperty("friendColors", this.friendColors);
-        json.addProperty("box", this.box);
     }
 
-    public void decode(String fieldName, JsonObject json) {
-        this.basic = this.getBoolean(json, "basic", this.basic);
-        this.trapped = this.getBoolean(json, "trapped", this.trapped);
-        this.ender = this.getBoolean(json, "ender", this.ender);
-        this.hopper = this.getBoolean(json, "hopper", this.hopper);
-        this.furnace = this.getBoolean(json, "furnace", this.furnace);
-
-        this.monsters = this.getBoolean(json, "monsters", this.monsters);
-        this.animals = this.getBoolean(json, "animals", this.animals);
-        this.players = this.getBoolean(json, "players", this.players);
-        this.golems = this.getBoolean(json, "golems", this.golems);
-        this.invisible = this.getBoolean(json, "invisible", this.invisible);
-        this.friendColors = this.getBoolean(json, "friendColors", this.friendColors);
-        this.box = this.getBoolean(json, "box", this.box);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
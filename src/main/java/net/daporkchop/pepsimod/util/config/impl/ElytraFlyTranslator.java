@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class ElytraFlyTranslator implements IConfigTranslator {
     public static final ElytraFlyTranslator INSTANCE = new ElytraFlyTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(ElytraFlyTranslator.class)
+            .add("easyStart", "stopInWater", "fly", "speed", "mode")
+            .build();
     public boolean easyStart = false;
     public boolean stopInWater = true;
     public boolean fly = false;
@@ -35,20 +38,9 @@ public class ElytraFlyTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("easyStart", this.easyStart);
-        json.addProperty("stopInWater", this.stopInWater);
-        json.addProperty("fly", this.fly);
-        json.addProperty("speed", this.speed);
-        json.addProperty("mode", this.mode.ordinal());
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.easyStart = this.getBoolean(json, "easyStart", this.easyStart);
-        this.stopInWater = this.getBoolean(json, "stopInWater", this.stopInWater);
-        this.fly = this.getBoolean(json, "fly", this.fly);
-        this.speed = this.getFloat(json, "speed", this.speed);
-        this.mode = ElytraFlyMode.getMode(this.getInt(json, "mode", this.mode.ordinal()));
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
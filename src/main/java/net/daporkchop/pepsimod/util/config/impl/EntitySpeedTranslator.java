@@ -20,25 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class EntitySpeedTranslator implements IConfigTranslator {
     public static final EntitySpeedTranslator INSTANCE = new EntitySpeedTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(EntitySpeedTranslator.class)
+            .add("speed", "idleSpeed")
+            .build();
     public float speed = 1.0f;
     public float idleSpeed = 1.0f;
 
     private EntitySpeedTranslator() {
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("speed", this.speed);
-        json.addProperty("idleSpeed", this.idleSpeed);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.speed = this.getFloat(json, "speed", this.speed);
-        this.idleSpeed = this.getFloat(json, "idleSpeed", this.idleSpeed);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class FlightTranslator implements IConfigTranslator {
     public static final FlightTranslator INSTANCE = new FlightTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(FlightTranslator.class)
+            .add("speed")
+            .build();
     public float speed = 1.0f;
 
     private FlightTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("speed", this.speed);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.speed = this.getFloat(json, "speed", this.speed);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
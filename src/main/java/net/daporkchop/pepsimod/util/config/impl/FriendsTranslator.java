@@ -24,30 +24,39 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
+import net.daporkchop.pepsimod.util.misc.IEntityCache;
+import net.daporkchop.pepsimod.util.misc.UUIDSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 
 public class FriendsTranslator implements IConfigTranslator {
     public static final FriendsTranslator INSTANCE = new FriendsTranslator();
-    public Set<UUID> friends = new HashSet<>();
+    public final UUIDSet friends = new UUIDSet();
+
+    /**
+     * Incremented every time the friends list is modified, used to invalidate cached friend flags
+     */
+    public volatile int generation;
 
     private FriendsTranslator() {
     }
 
     public void encode(JsonObject json) {
         JsonArray array = new JsonArray();
-        for (UUID uuid : this.friends) {
+        this.friends.forEach((msb, lsb) -> {
             JsonObject object = new JsonObject();
-            object.addProperty("msb", uuid.getMostSignificantBits());
-            object.addProperty("lsb", uuid.getLeastSignificantBits());
+            object.addProperty("msb", msb);
+            object.addProperty("lsb", lsb);
             array.add(object);
-        }
+        });
         json.add("friends", array);
     }
 
@@ -59,13 +68,84 @@ public class FriendsTranslator implements IConfigTranslator {
                 this.friends.add(UUID.fromString(element.getAsString()));
             } else {
                 JsonObject object = element.getAsJsonObject();
-                this.friends.add(new UUID(object.get("msb").getAsLong(), object.get("lsb").getAsLong()));
+                this.friends.add(object.get("msb").getAsLong(), object.get("lsb").getAsLong());
+            }
+        }
+        this.generation++;
+    }
+
+    @Override
+    public void write(JsonWriter out) throws IOException {
+        out.beginObject().name("friends").beginArray();
+        long[] pairs = this.friends.toArray();
+        for (int i = 0; i < pairs.length; i += 2) {
+            out.beginObject().name("msb").value(pairs[i]).name("lsb").value(pairs[i + 1]).endObject();
+        }
+        out.endArray().endObject();
+    }
+
+    @Override
+    public void read(JsonReader in) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!"friends".equals(in.nextName()) || in.peek() != JsonToken.BEGIN_ARRAY) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.STRING) {
+                    //convert old format
+                    this.friends.add(UUID.fromString(in.nextString()));
+                } else {
+                    long msb = 0L;
+                    long lsb = 0L;
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "msb":
+                                msb = in.nextLong();
+                                break;
+                            case "lsb":
+                                lsb = in.nextLong();
+                                break;
+                            default:
+                                in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    this.friends.add(msb, lsb);
+                }
             }
+            in.endArray();
         }
+        in.endObject();
+        this.generation++;
+    }
+
+    @Override
+    public int modCount() {
+        return this.generation;
     }
 
     public boolean isFriend(Entity entity)  {
-        return this.friends.contains(entity.getUniqueID());
+        return ((IEntityCache) entity).isFriend();
+    }
+
+    public boolean isFriend(UUID uuid) {
+        return this.friends.contains(uuid);
+    }
+
+    public void addFriend(UUID uuid) {
+        if (this.friends.add(uuid)) {
+            this.generation++;
+        }
+    }
+
+    public void removeFriend(UUID uuid) {
+        if (this.friends.remove(uuid)) {
+            this.generation++;
+        }
     }
 
     public String name() {
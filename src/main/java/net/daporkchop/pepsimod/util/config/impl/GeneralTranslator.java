@@ -20,20 +20,25 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import net.daporkchop.pepsimod.module.ModuleManager;
 import net.daporkchop.pepsimod.module.api.Module;
 import net.daporkchop.pepsimod.module.api.ModuleSortType;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.Map;
 
 public class GeneralTranslator implements IConfigTranslator {
     public static final GeneralTranslator INSTANCE = new GeneralTranslator();
     public boolean autoReconnect = false;
     public HashMap<String, ModuleState> states = new HashMap<>();
     public ModuleSortType sortType = ModuleSortType.SIZE;
-    public JsonObject json = new JsonObject();
 
     private GeneralTranslator() {
 
@@ -48,17 +53,47 @@ public class GeneralTranslator implements IConfigTranslator {
     }
 
     public void decode(String fieldName, JsonObject json) {
-        this.json = json;
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            if (entry.getKey().startsWith("module.enabled.") && entry.getValue().isJsonPrimitive()) {
+                this.states.put(entry.getKey().substring("module.enabled.".length()), ModuleState.fromString(entry.getValue().getAsString()));
+            }
+        }
         this.autoReconnect = this.getBoolean(json, "autoReconnect", this.autoReconnect);
         this.sortType = ModuleSortType.fromOrdinal(this.getInt(json, "sortType", this.sortType.ordinal()));
     }
 
-    public ModuleState getState(String name, ModuleState fallback) {
-        if (this.json.has("module.enabled." + name)) {
-            return ModuleState.fromString(this.json.get("module.enabled." + name).getAsString());
+    @Override
+    public void write(JsonWriter out) throws IOException {
+        out.beginObject();
+        for (Module module : ModuleManager.AVALIBLE_MODULES) {
+            out.name("module.enabled." + module.nameFull).value(module.state.toString());
+        }
+        out.name("autoReconnect").value(this.autoReconnect);
+        out.name("sortType").value(this.sortType.ordinal());
+        out.endObject();
+    }
+
+    @Override
+    public void read(JsonReader in) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            JsonToken token = in.peek();
+            if (name.startsWith("module.enabled.") && token == JsonToken.STRING) {
+                this.states.put(name.substring("module.enabled.".length()), ModuleState.fromString(in.nextString()));
+            } else if ("autoReconnect".equals(name) && token == JsonToken.BOOLEAN) {
+                this.autoReconnect = in.nextBoolean();
+            } else if ("sortType".equals(name) && token == JsonToken.NUMBER) {
+                this.sortType = ModuleSortType.fromOrdinal(in.nextInt());
+            } else {
+                in.skipValue();
+            }
         }
+        in.endObject();
+    }
 
-        return fallback;
+    public ModuleState getState(String name, ModuleState fallback) {
+        return this.states.getOrDefault(name, fallback);
     }
 
     public String name() {
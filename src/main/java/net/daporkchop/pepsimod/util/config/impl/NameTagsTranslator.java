@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class NameTagsTranslator implements IConfigTranslator {
     public static final NameTagsTranslator INSTANCE = new NameTagsTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(NameTagsTranslator.class)
+            .add("scale")
+            .build();
 
     public float scale = 1.0f;
 
@@ -32,12 +35,9 @@ public class NameTagsTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("scale", this.scale);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.scale = this.getFloat(json, "scale", this.scale);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class NoWeatherTranslator implements IConfigTranslator {
     public static final NoWeatherTranslator INSTANCE = new NoWeatherTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(NoWeatherTranslator.class)
+            .add("disableRain", "changeTime", "time")
+            .build();
     public boolean disableRain = false;
     public boolean changeTime = false;
     public int time = 0;
@@ -33,16 +36,9 @@ public class NoWeatherTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("disableRain", this.disableRain);
-        json.addProperty("changeTime", this.changeTime);
-        json.addProperty("time", this.time);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.disableRain = this.getBoolean(json, "disableRain", this.disableRain);
-        this.changeTime = this.getBoolean(json, "changeTime", this.changeTime);
-        this.time = this.getInt(json, "time", this.time);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
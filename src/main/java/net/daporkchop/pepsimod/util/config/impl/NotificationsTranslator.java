@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class NotificationsTranslator implements IConfigTranslator {
     public static final NotificationsTranslator INSTANCE = new NotificationsTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(NotificationsTranslator.class)
+            .add("queue", "death", "chat", "player")
+            .build();
     public boolean queue = false;
     public boolean death = false;
     public boolean chat = false;
@@ -34,18 +37,9 @@ public class NotificationsTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("queue", this.queue);
-        json.addProperty("death", this.death);
-        json.addProperty("chat", this.chat);
-        json.addProperty("player", this.player);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.queue = this.getBoolean(json, "queue", this.queue);
-        this.death = this.getBoolean(json, "death", this.death);
-        this.chat = this.getBoolean(json, "chat", this.chat);
-        this.player = this.getBoolean(json, "player", this.player);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class SpeedmineTranslator implements IConfigTranslator {
     public static final SpeedmineTranslator INSTANCE = new SpeedmineTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(SpeedmineTranslator.class)
+            .add("speed")
+            .build();
     public float speed = 0.4f;
 
     private SpeedmineTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("speed", this.speed);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.speed = this.getFloat(json, "speed", this.speed);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class StepTranslator implements IConfigTranslator {
     public static final StepTranslator INSTANCE = new StepTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(StepTranslator.class)
+            .add("legit", "height")
+            .build();
     public boolean legit = false;
     public int height = 1;
 
@@ -32,14 +35,9 @@ public class StepTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("legit", this.legit);
-        json.addProperty("height", this.height);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.legit = this.getBoolean(json, "legit", this.legit);
-        this.height = this.getInt(json, "height", this.height);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
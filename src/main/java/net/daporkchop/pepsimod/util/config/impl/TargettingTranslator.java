@@ -20,11 +20,17 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class TargettingTranslator implements IConfigTranslator {
     public static final TargettingTranslator INSTANCE = new TargettingTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(TargettingTranslator.class)
+            .add("players", "animals", "monsters", "golems", "sleeping", "invisible", "teams", "friends")
+            .add("through_walls", "use_cooldown", "silent", "rotate")
+            .alias("bone", "targetBone")
+            .add("fov", "reach", "delay")
+            .build();
     public boolean players = false;
     public boolean animals = false;
     public boolean monsters = false;
@@ -46,42 +52,9 @@ public class TargettingTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("players", this.players);
-        json.addProperty("animals", this.animals);
-        json.addProperty("monsters", this.monsters);
-        json.addProperty("golems", this.golems);
-        json.addProperty("sleeping", this.sleeping);
-        json.addProperty("invisible", this.invisible);
-        json.addProperty("teams", this.teams);
-        json.addProperty("friends", this.friends);
-        json.addProperty("through_walls", this.through_walls);
-        json.addProperty("use_cooldown", this.use_cooldown);
-        json.addProperty("silent", this.silent);
-        json.addProperty("rotate", this.rotate);
-        json.addProperty("bone", this.targetBone.ordinal());
-        json.addProperty("fov", this.fov);
-        json.addProperty("reach", this.reach);
-        json.addProperty("delay", this.delay);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.players = this.getBoolean(json, "players", this.players);
-        this.animals = this.getBoolean(json, "animals", this.animals);
-        this.monsters = this.getBoolean(json, "monsters", this.monsters);
-        this.golems = this.getBoolean(json, "golems", this.golems);
-        this.sleeping = this.getBoolean(json, "sleeping", this.sleeping);
-        this.invisible = this.getBoolean(json, "invisible", this.invisible);
-        this.teams = this.getBoolean(json, "teams", this.teams);
-        this.friends = this.getBoolean(json, "friends", this.friends);
-        this.through_walls = this.getBoolean(json, "through_walls", this.through_walls);
-        this.use_cooldown = this.getBoolean(json, "use_cooldown", this.use_cooldown);
-        this.silent = this.getBoolean(json, "silent", this.silent);
-        this.rotate = this.getBoolean(json, "rotate", this.rotate);
-        this.targetBone = TargetBone.getBone(this.getInt(json, "bone", this.targetBone.ordinal()));
-        this.fov = this.getFloat(json, "fov", this.fov);
-        this.reach = this.getFloat(json, "reach", this.reach);
-        this.delay = this.getInt(json, "delay", this.delay);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,14 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class TimerTranslator implements IConfigTranslator {
     public static final TimerTranslator INSTANCE = new TimerTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(TimerTranslator.class)
+            .add("multiplier", "tpsSync")
+            .build();
     public float multiplier = 1.0f;
     public boolean tpsSync = false;
 
@@ -32,14 +35,9 @@ public class TimerTranslator implements IConfigTranslator {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("multiplier", this.multiplier);
-        json.addProperty("tpsSync", this.tpsSync);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.multiplier = this.getFloat(json, "multiplier", this.multiplier);
-        this.tpsSync = this.getBoolean(json, "tpsSync", this.tpsSync);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
@@ -20,11 +20,15 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class TracersTranslator implements IConfigTranslator {
     public static final TracersTranslator INSTANCE = new TracersTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(TracersTranslator.class)
+            .add("sleeping", "invisible", "friendColors", "animals", "monsters", "players", "items")
+            .add("everything", "distanceColor", "width")
+            .build();
     public boolean sleeping = false;
     public boolean invisible = false;
     public boolean friendColors = true;
@@ -39,30 +43,9 @@ public class TracersTranslator implements IConfigTranslator {
     private TracersTranslator() {
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("sleeping", this.sleeping);
-        json.addProperty("invisible", this.invisible);
-        json.addProperty("friendColors", this.friendColors);
-        json.addProperty("animals", this.animals);
-        json.addProperty("monsters", this.monsters);
-        json.addProperty("players", this.players);
-        json.addProperty("items", this.items);
-        json.addProperty("everything", this.everything);
-        json.addProperty("distanceColor", this.distanceColor);
-        json.addProperty("width", this.width);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.sleeping = this.getBoolean(json, "sleeping", this.sleeping);
-        this.invisible = this.getBoolean(json, "invisible", this.invisible);
-        this.friendColors = this.getBoolean(json, "friendColors", this.friendColors);
-        this.animals = this.getBoolean(json, "animals", this.animals);
-        this.monsters = this.getBoolean(json, "monsters", this.monsters);
-        this.players = this.getBoolean(json, "players", this.players);
-        this.items = this.getBoolean(json, "items", this.items);
-        this.everything = this.getBoolean(json, "everything", this.everything);
-        this.distanceColor = this.getBoolean(json, "distanceColor", this.distanceColor);
-        this.width = this.getFloat(json, "width", this.width);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
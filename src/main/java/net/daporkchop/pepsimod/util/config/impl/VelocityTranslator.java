@@ -20,23 +20,23 @@
 
 package net.daporkchop.pepsimod.util.config.impl;
 
-import com.google.gson.JsonObject;
+import net.daporkchop.pepsimod.util.config.ConfigSchema;
 import net.daporkchop.pepsimod.util.config.IConfigTranslator;
 
 public class VelocityTranslator implements IConfigTranslator {
     public static final VelocityTranslator INSTANCE = new VelocityTranslator();
+    private static final ConfigSchema SCHEMA = ConfigSchema.builder(VelocityTranslator.class)
+            .add("multiplier")
+            .build();
     public float multiplier = 1.0f;
 
     private VelocityTranslator() {
 
     }
 
-    public void encode(JsonObject json) {
-        json.addProperty("multiplier", this.multiplier);
-    }
-
-    public void decode(String fieldName, JsonObject json) {
-        this.multiplier = this.getFloat(json, "multiplier", this.multiplier);
+    @Override
+    public ConfigSchema schema() {
+        return SCHEMA;
     }
 
     public String name() {
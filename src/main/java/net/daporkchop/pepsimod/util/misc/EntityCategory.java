@@ -0,0 +1,86 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util.misc;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.monster.EntityGolem;
+import net.minecraft.entity.monster.EntityMob;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.player.EntityPlayer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The broad categories of entities used by render modules such as ESP and Tracers.
+ * <p>
+ * An entity's category only depends on its class, and is computed once per class.
+ *
+ * @author DaPorkchop_
+ */
+public enum EntityCategory {
+    PLAYER,
+    MONSTER,
+    ANIMAL,
+    GOLEM,
+    ITEM,
+    OTHER;
+
+    //Class doesn't override equals/hashCode, so this is effectively an identity map (but is safe to use from the integrated server)
+    private static final Map<Class<?>, EntityCategory> BY_CLASS = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the category of an entity.
+     *
+     * @param entity the entity
+     * @return the entity's category
+     */
+    public static EntityCategory of(Entity entity) {
+        return ((IEntityCache) entity).getCategory();
+    }
+
+    /**
+     * Gets the category of all entities of a given class.
+     *
+     * @param clazz the entity class
+     * @return the category
+     */
+    public static EntityCategory of(Class<? extends Entity> clazz) {
+        return BY_CLASS.computeIfAbsent(clazz, EntityCategory::compute);
+    }
+
+    private static EntityCategory compute(Class<?> clazz) {
+        if (EntityPlayer.class.isAssignableFrom(clazz)) {
+            return PLAYER;
+        } else if (EntityMob.class.isAssignableFrom(clazz)) {
+            return MONSTER;
+        } else if (EntityAnimal.class.isAssignableFrom(clazz)) {
+            return ANIMAL;
+        } else if (EntityGolem.class.isAssignableFrom(clazz)) {
+            return GOLEM;
+        } else if (EntityItem.class.isAssignableFrom(clazz)) {
+            return ITEM;
+        } else {
+            return OTHER;
+        }
+    }
+}
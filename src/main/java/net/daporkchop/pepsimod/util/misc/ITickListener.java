@@ -22,4 +22,17 @@ package net.daporkchop.pepsimod.util.misc;
 
 public interface ITickListener {
     void tick();
+
+    /**
+     * Gets the phase during which {@link #tick()} will be called.
+     * <p>
+     * Most listeners only care about the state of the world, which only changes once per game tick, and should
+     * therefore leave this as {@link TickPhase#GAME_TICK}. Only things which are animated smoothly between game
+     * ticks should use {@link TickPhase#FRAME}.
+     *
+     * @return the phase during which this listener will be ticked
+     */
+    default TickPhase getTickPhase() {
+        return TickPhase.GAME_TICK;
+    }
 }
@@ -0,0 +1,228 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util.misc;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A set of {@link UUID}s, stored as pairs of primitive {@code long}s in an open-addressing hash table.
+ * <p>
+ * Unlike a {@link java.util.HashSet}, lookups don't allocate or chase any pointers, which matters when checking
+ * every rendered entity every frame. Not thread-safe.
+ *
+ * @author DaPorkchop_
+ */
+public class UUIDSet {
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    protected static int hash(long msb, long lsb) {
+        long h = msb ^ lsb * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    //slots whose both halves are 0 are empty, the nil UUID is tracked separately
+    protected long[] msbs;
+    protected long[] lsbs;
+    protected int mask;
+    protected int size;
+    protected boolean containsNil;
+
+    public UUIDSet() {
+        this.msbs = new long[DEFAULT_CAPACITY];
+        this.lsbs = new long[DEFAULT_CAPACITY];
+        this.mask = DEFAULT_CAPACITY - 1;
+    }
+
+    public int size() {
+        return this.containsNil ? this.size + 1 : this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    public boolean contains(UUID uuid) {
+        return this.contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean contains(long msb, long lsb) {
+        if (msb == 0L && lsb == 0L) {
+            return this.containsNil;
+        }
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        int mask = this.mask;
+        for (int i = hash(msb, lsb) & mask; ; i = (i + 1) & mask) {
+            long m = msbs[i];
+            long l = lsbs[i];
+            if (m == msb && l == lsb) {
+                return true;
+            } else if (m == 0L && l == 0L) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return whether or not the set was modified
+     */
+    public boolean add(UUID uuid) {
+        return this.add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @return whether or not the set was modified
+     */
+    public boolean add(long msb, long lsb) {
+        if (msb == 0L && lsb == 0L) {
+            boolean added = !this.containsNil;
+            this.containsNil = true;
+            return added;
+        }
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        int mask = this.mask;
+        int i = hash(msb, lsb) & mask;
+        while (msbs[i] != 0L || lsbs[i] != 0L) {
+            if (msbs[i] == msb && lsbs[i] == lsb) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        msbs[i] = msb;
+        lsbs[i] = lsb;
+        if (++this.size > (mask + 1) >> 1) {
+            this.resize((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether or not the set was modified
+     */
+    public boolean remove(UUID uuid) {
+        return this.remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @return whether or not the set was modified
+     */
+    public boolean remove(long msb, long lsb) {
+        if (msb == 0L && lsb == 0L) {
+            boolean removed = this.containsNil;
+            this.containsNil = false;
+            return removed;
+        }
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        int mask = this.mask;
+        int i = hash(msb, lsb) & mask;
+        while (msbs[i] != msb || lsbs[i] != lsb) {
+            if (msbs[i] == 0L && lsbs[i] == 0L) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        //shift following entries back into the gap so that no probe sequence is broken
+        for (int j = (i + 1) & mask; msbs[j] != 0L || lsbs[j] != 0L; j = (j + 1) & mask) {
+            int home = hash(msbs[j], lsbs[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                msbs[i] = msbs[j];
+                lsbs[i] = lsbs[j];
+                i = j;
+            }
+        }
+        msbs[i] = 0L;
+        lsbs[i] = 0L;
+        this.size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.msbs, 0L);
+        Arrays.fill(this.lsbs, 0L);
+        this.size = 0;
+        this.containsNil = false;
+    }
+
+    public void forEach(Consumer consumer) {
+        if (this.containsNil) {
+            consumer.accept(0L, 0L);
+        }
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        for (int i = 0; i < msbs.length; i++) {
+            if (msbs[i] != 0L || lsbs[i] != 0L) {
+                consumer.accept(msbs[i], lsbs[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the contents of this set, as consecutive most/least significant bit pairs
+     */
+    public long[] toArray() {
+        long[] pairs = new long[this.size() << 1];
+        int index = 0;
+        if (this.containsNil) {
+            index += 2;
+        }
+        long[] msbs = this.msbs;
+        long[] lsbs = this.lsbs;
+        for (int i = 0; i < msbs.length; i++) {
+            if (msbs[i] != 0L || lsbs[i] != 0L) {
+                pairs[index++] = msbs[i];
+                pairs[index++] = lsbs[i];
+            }
+        }
+        return pairs;
+    }
+
+    protected void resize(int capacity) {
+        long[] oldMsbs = this.msbs;
+        long[] oldLsbs = this.lsbs;
+        long[] msbs = this.msbs = new long[capacity];
+        long[] lsbs = this.lsbs = new long[capacity];
+        int mask = this.mask = capacity - 1;
+        for (int i = 0; i < oldMsbs.length; i++) {
+            long msb = oldMsbs[i];
+            long lsb = oldLsbs[i];
+            if (msb != 0L || lsb != 0L) {
+                int j = hash(msb, lsb) & mask;
+                while (msbs[j] != 0L || lsbs[j] != 0L) {
+                    j = (j + 1) & mask;
+                }
+                msbs[j] = msb;
+                lsbs[j] = lsb;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long msb, long lsb);
+    }
+}
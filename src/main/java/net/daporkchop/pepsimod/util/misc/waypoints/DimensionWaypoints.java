@@ -20,8 +20,130 @@
 
 package net.daporkchop.pepsimod.util.misc.waypoints;
 
-import java.util.Hashtable;
+import net.minecraft.util.math.ChunkPos;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All of the waypoints in a single dimension.
+ * <p>
+ * In addition to being looked up by name, waypoints are indexed in a coarse horizontal grid, so that finding the ones
+ * near the camera only has to look at a handful of cells rather than every waypoint (of which there may be tens of
+ * thousands, if they were imported from a map mod).
+ * <p>
+ * Not thread-safe, must only be accessed from the client thread.
+ *
+ * @author DaPorkchop_
+ */
 public class DimensionWaypoints {
-    public Hashtable<String, Waypoint> waypoints = new Hashtable<>();
+    /**
+     * The base-2 logarithm of the width of a grid cell, in blocks
+     */
+    protected static final int CELL_SHIFT = 8;
+
+    protected final Map<String, Waypoint> waypoints = new HashMap<>();
+    protected final Map<Long, List<Waypoint>> cells = new HashMap<>();
+
+    /**
+     * @return the waypoint with the given name, or {@code null} if there is none
+     */
+    public Waypoint get(String name) {
+        return this.waypoints.get(name);
+    }
+
+    /**
+     * Adds a waypoint, replacing any existing waypoint with the same name.
+     *
+     * @return the waypoint that was replaced, or {@code null} if there was none
+     */
+    public Waypoint add(Waypoint waypoint) {
+        Waypoint old = this.waypoints.put(waypoint.name, waypoint);
+        if (old != null) {
+            this.removeFromCell(old);
+        }
+        this.cells.computeIfAbsent(ChunkPos.asLong(waypoint.x >> CELL_SHIFT, waypoint.z >> CELL_SHIFT), key -> new ArrayList<>()).add(waypoint);
+        return old;
+    }
+
+    /**
+     * Removes the waypoint with the given name.
+     *
+     * @return the waypoint that was removed, or {@code null} if there was none
+     */
+    public Waypoint remove(String name) {
+        Waypoint old = this.waypoints.remove(name);
+        if (old != null) {
+            this.removeFromCell(old);
+        }
+        return old;
+    }
+
+    protected void removeFromCell(Waypoint waypoint) {
+        long key = ChunkPos.asLong(waypoint.x >> CELL_SHIFT, waypoint.z >> CELL_SHIFT);
+        List<Waypoint> cell = this.cells.get(key);
+        if (cell != null && cell.remove(waypoint) && cell.isEmpty()) {
+            this.cells.remove(key);
+        }
+    }
+
+    /**
+     * @return all waypoints in this dimension
+     */
+    public Collection<Waypoint> getAll() {
+        return Collections.unmodifiableCollection(this.waypoints.values());
+    }
+
+    public int size() {
+        return this.waypoints.size();
+    }
+
+    /**
+     * Gets all waypoints whose horizontal distance to a point is within a given radius.
+     *
+     * @param x      the X coordinate of the point
+     * @param z      the Z coordinate of the point
+     * @param radius the radius
+     * @param dst    the list to add the waypoints to
+     * @return the list
+     */
+    public <L extends List<Waypoint>> L getWaypointsInRadius(double x, double z, double radius, L dst) {
+        int minX = (int) Math.floor(x - radius) >> CELL_SHIFT;
+        int maxX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minZ = (int) Math.floor(z - radius) >> CELL_SHIFT;
+        int maxZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+        double radiusSq = radius * radius;
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > this.cells.size()) {
+            //the area covers more cells than actually exist, so it's cheaper to check all of them
+            for (List<Waypoint> cell : this.cells.values()) {
+                addInRadius(cell, x, z, radiusSq, dst);
+            }
+        } else {
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                    List<Waypoint> cell = this.cells.get(ChunkPos.asLong(cellX, cellZ));
+                    if (cell != null) {
+                        addInRadius(cell, x, z, radiusSq, dst);
+                    }
+                }
+            }
+        }
+        return dst;
+    }
+
+    protected static void addInRadius(List<Waypoint> cell, double x, double z, double radiusSq, List<Waypoint> dst) {
+        for (int i = 0, size = cell.size(); i < size; i++) {
+            Waypoint waypoint = cell.get(i);
+            double dx = waypoint.x + 0.5d - x;
+            double dz = waypoint.z + 0.5d - z;
+            if (dx * dx + dz * dz <= radiusSq) {
+                dst.add(waypoint);
+            }
+        }
+    }
 }
@@ -20,8 +20,192 @@
 
 package net.daporkchop.pepsimod.util.misc.waypoints;
 
-import java.util.Hashtable;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.server.integrated.IntegratedServer;
+import net.minecraftforge.fml.common.FMLLog;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static net.daporkchop.pepsimod.util.PepsiConstants.mc;
+
+/**
+ * All of the waypoints on a single server, grouped by dimension.
+ * <p>
+ * Each server's waypoints are stored in their own compact binary file, which is only read once the client actually
+ * joins that server. All file I/O happens on a background thread.
+ *
+ * @author DaPorkchop_
+ */
 public class ServerWaypoints {
-    public Hashtable<Integer, DimensionWaypoints> waypoints = new Hashtable<>();
+    protected static final int MAGIC = 0x50575054; //"PWPT"
+    protected static final int VERSION = 1;
+
+    protected static final ExecutorService IO = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "pepsimod waypoint I/O");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    protected static String currentKey;
+    protected static CompletableFuture<ServerWaypoints> current;
+
+    /**
+     * Gets the waypoints for the server that the client is currently connected to.
+     * <p>
+     * The first call after joining a server starts loading its waypoints in the background. Until they have finished
+     * loading, and while not connected to any server, this returns {@code null}. Must only be called from the client
+     * thread.
+     */
+    public static ServerWaypoints getCurrent() {
+        String key = getServerKey();
+        if (!Objects.equals(key, currentKey)) {
+            currentKey = key;
+            current = key == null ? null : CompletableFuture.supplyAsync(() -> load(key), IO);
+        }
+        return current == null ? null : current.getNow(null);
+    }
+
+    protected static String getServerKey() {
+        ServerData data = mc.getCurrentServerData();
+        if (data != null) {
+            return data.serverIP;
+        }
+        IntegratedServer server = mc.getIntegratedServer();
+        if (server != null) {
+            return "singleplayer_" + server.getFolderName();
+        }
+        return null;
+    }
+
+    protected static ServerWaypoints load(String key) {
+        ServerWaypoints waypoints = new ServerWaypoints(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(waypoints.file.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Unknown waypoint file format");
+            }
+            for (int dimensions = in.readInt(); dimensions > 0; dimensions--) {
+                int dim = in.readInt();
+                DimensionWaypoints dimension = waypoints.getOrCreateDimension(dim);
+                for (int count = in.readInt(); count > 0; count--) {
+                    String name = in.readUTF();
+                    int x = in.readInt();
+                    int y = in.readInt();
+                    int z = in.readInt();
+                    boolean shown = in.readBoolean();
+                    dimension.add(new Waypoint(name, x, y, z, shown, dim));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            //no waypoints have been set on this server yet
+        } catch (IOException e) {
+            FMLLog.log.error("Unable to load waypoints from {}", waypoints.file, e);
+
+            //move the broken file aside so that saving doesn't overwrite whatever is still recoverable from it
+            File corrupt = new File(waypoints.file.getParentFile(), waypoints.file.getName() + ".corrupt");
+            try {
+                Files.move(waypoints.file.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                FMLLog.log.warn("Moved unreadable waypoint file to {}", corrupt);
+            } catch (IOException e1) {
+                FMLLog.log.error("Unable to move unreadable waypoint file aside, waypoints on this server will not be saved", e1);
+                waypoints.readOnly = true;
+            }
+        }
+        return waypoints;
+    }
+
+    public final String key;
+    protected final File file;
+    protected final Map<Integer, DimensionWaypoints> dimensions = new HashMap<>();
+    /**
+     * Set if the existing file couldn't be read or moved aside, in which case it must never be overwritten
+     */
+    protected boolean readOnly;
+
+    protected ServerWaypoints(String key) {
+        this.key = key;
+        this.file = new File(mc.gameDir, "pepsimod/waypoints/" + key.replaceAll("[^a-zA-Z0-9._-]", "_") + ".dat");
+    }
+
+    /**
+     * @return the waypoints in the given dimension, or {@code null} if there are none
+     */
+    public DimensionWaypoints getDimension(int dim) {
+        return this.dimensions.get(dim);
+    }
+
+    public DimensionWaypoints getOrCreateDimension(int dim) {
+        return this.dimensions.computeIfAbsent(dim, key -> new DimensionWaypoints());
+    }
+
+    /**
+     * Writes these waypoints to disk.
+     * <p>
+     * Waypoints are immutable, so only the lists of waypoints are copied on the calling thread. Encoding, compression
+     * and I/O are done in the background.
+     */
+    public void save() {
+        if (this.readOnly) {
+            FMLLog.log.warn("Not saving waypoints to {}, as it could not be read", this.file);
+            return;
+        }
+
+        Map<Integer, Waypoint[]> snapshot = new HashMap<>();
+        this.dimensions.forEach((dim, dimension) -> {
+            if (dimension.size() > 0) {
+                snapshot.put(dim, dimension.getAll().toArray(new Waypoint[dimension.size()]));
+            }
+        });
+        File file = this.file;
+        IO.execute(() -> write(file, snapshot));
+    }
+
+    protected static void write(File file, Map<Integer, Waypoint[]> snapshot) {
+        File parent = file.getParentFile();
+        File tmp = new File(parent, file.getName() + ".tmp");
+        try {
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Unable to create directory: " + parent.getAbsolutePath());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp.toPath()))))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Integer, Waypoint[]> entry : snapshot.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (Waypoint waypoint : entry.getValue()) {
+                        out.writeUTF(waypoint.name);
+                        out.writeInt(waypoint.x);
+                        out.writeInt(waypoint.y);
+                        out.writeInt(waypoint.z);
+                        out.writeBoolean(waypoint.shown);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            FMLLog.log.error("Unable to save waypoints to {}", file, e);
+        }
+    }
 }
@@ -28,7 +28,7 @@ public class Waypoint {
     public final int y;
     public final int z;
     public final int dim;
-    public boolean shown;
+    public final boolean shown;
 
     public Waypoint(String name, double x, double y, double z, int dim) {
         this(name, x, y, z, true, dim);
@@ -0,0 +1,297 @@
+/*
+ * Adapted from The MIT License (MIT)
+ *
+ * Copyright (c) 2016-2020 DaPorkchop_
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software
+ * is furnished to do so, subject to the following conditions:
+ *
+ * Any persons and/or organizations using this software must include the above copyright notice and this permission notice,
+ * provide sufficient credit to the original authors of the project (IE: DaPorkchop_), as well as provide a link to the original project.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ * BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package net.daporkchop.pepsimod.util.render;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockChest;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.tileentity.TileEntityEnderChest;
+import net.minecraft.tileentity.TileEntityFurnace;
+import net.minecraft.tileentity.TileEntityHopper;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of all storage tile entities in a world, indexed by chunk section.
+ * <p>
+ * Instead of scanning every loaded tile entity every frame, sections are marked dirty when a tile entity or block inside
+ * of them changes, and have their outlines re-baked on the next call to {@link #update()}. Rendering then only has to
+ * cull whole sections and copy the cached vertices.
+ * <p>
+ * Not thread-safe, must only be accessed from the client thread.
+ *
+ * @author DaPorkchop_
+ */
+public class StorageIndex {
+    protected final Map<Long, Section[]> chunks = new HashMap<>();
+    protected final Deque<Section> dirty = new ArrayDeque<>();
+    protected World world;
+
+    /**
+     * @return the world that this index is currently tracking
+     */
+    public World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Discards everything and starts indexing the given world from scratch.
+     *
+     * @param world the world to index, or {@code null} to stop indexing
+     */
+    public void reset(World world) {
+        this.chunks.clear();
+        this.dirty.clear();
+        this.world = world;
+
+        if (world != null) {
+            for (TileEntity te : world.loadedTileEntityList) {
+                this.markDirty(te.getPos());
+            }
+        }
+    }
+
+    /**
+     * Marks the section containing the given position as dirty, along with any horizontally adjacent sections that could
+     * contain a chest connected to it.
+     *
+     * @param pos the position that changed
+     */
+    public void markDirty(BlockPos pos) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        this.markDirty(x >> 4, y >> 4, z >> 4);
+
+        if ((x & 15) == 0) {
+            this.markDirty((x >> 4) - 1, y >> 4, z >> 4);
+        } else if ((x & 15) == 15) {
+            this.markDirty((x >> 4) + 1, y >> 4, z >> 4);
+        }
+        if ((z & 15) == 0) {
+            this.markDirty(x >> 4, y >> 4, (z >> 4) - 1);
+        } else if ((z & 15) == 15) {
+            this.markDirty(x >> 4, y >> 4, (z >> 4) + 1);
+        }
+    }
+
+    protected void markDirty(int chunkX, int sectionY, int chunkZ) {
+        if (sectionY < 0 || sectionY >= 16) {
+            return;
+        }
+
+        Section[] sections = this.chunks.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new Section[16]);
+        Section section = sections[sectionY];
+        if (section == null) {
+            sections[sectionY] = section = new Section(chunkX, sectionY, chunkZ);
+        }
+        if (!section.dirty) {
+            section.dirty = true;
+            this.dirty.add(section);
+        }
+    }
+
+    /**
+     * Forgets about all storage in a chunk, should be called when the chunk is unloaded.
+     *
+     * @param chunkX the chunk's X coordinate
+     * @param chunkZ the chunk's Z coordinate
+     */
+    public void unloadChunk(int chunkX, int chunkZ) {
+        Section[] sections = this.chunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (sections != null) {
+            for (Section section : sections) {
+                if (section != null) {
+                    section.unloaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-bakes the outlines of all dirty sections.
+     */
+    public void update() {
+        for (Section section; (section = this.dirty.poll()) != null; ) {
+            section.dirty = false;
+            if (!section.unloaded) {
+                section.rebuild(this.world);
+            }
+        }
+    }
+
+    /**
+     * @return all chunks with at least one section that has been indexed
+     */
+    public Collection<Section[]> getChunks() {
+        return this.chunks.values();
+    }
+
+    /**
+     * The different types of storage that are tracked.
+     */
+    public enum StorageType {
+        BASIC,
+        TRAPPED,
+        ENDER,
+        HOPPER,
+        FURNACE;
+
+        private static final StorageType[] VALUES = values();
+
+        public static StorageType of(TileEntity te) {
+            if (te instanceof TileEntityChest) {
+                return ((TileEntityChest) te).getChestType() == BlockChest.Type.TRAP ? TRAPPED : BASIC;
+            } else if (te instanceof TileEntityEnderChest) {
+                return ENDER;
+            } else if (te instanceof TileEntityHopper) {
+                return HOPPER;
+            } else if (te instanceof TileEntityFurnace) {
+                return FURNACE;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A 16³ section of a chunk, with the pre-baked outline vertices for each type of storage in it.
+     */
+    public static class Section {
+        public final int x;
+        public final int y;
+        public final int z;
+
+        /**
+         * The outline vertices for each {@link StorageType}, as packed XYZ triples relative to this section's origin.
+         * <p>
+         * A {@code null} value indicates that there is no storage of that type in this section.
+         */
+        public final float[][] vertices = new float[StorageType.VALUES.length][];
+
+        /**
+         * The bounding box of all the storage in this section, or {@code null} if there is none
+         */
+        public AxisAlignedBB bounds;
+
+        protected boolean dirty;
+        protected boolean unloaded;
+
+        public Section(int x, int y, int z) {
+            this.x = x << 4;
+            this.y = y << 4;
+            this.z = z << 4;
+        }
+
+        protected void rebuild(World world) {
+            Arrays.fill(this.vertices, null);
+            this.bounds = null;
+
+            Chunk chunk = world.getChunkProvider().getLoadedChunk(this.x >> 4, this.z >> 4);
+            if (chunk == null) {
+                return;
+            }
+
+            float[][] vertices = new float[StorageType.VALUES.length][];
+            int[] counts = new int[StorageType.VALUES.length];
+            for (TileEntity te : chunk.getTileEntityMap().values()) {
+                BlockPos pos = te.getPos();
+                if (te.isInvalid() || (pos.getY() & ~15) != this.y) {
+                    continue;
+                }
+                StorageType type = StorageType.of(te);
+                if (type == null) {
+                    continue;
+                }
+
+                AxisAlignedBB bb = world.getBlockState(pos).getBoundingBox(world, pos);
+                double minX = bb.minX;
+                double minZ = bb.minZ;
+                if (te instanceof TileEntityChest) {
+                    //only draw double chests once, from the chest with the highest coordinates
+                    Block block = world.getBlockState(pos).getBlock();
+                    if (world.getBlockState(pos.east()).getBlock() == block || world.getBlockState(pos.south()).getBlock() == block) {
+                        continue;
+                    } else if (world.getBlockState(pos.west()).getBlock() == block) {
+                        minX -= 1.0d;
+                    } else if (world.getBlockState(pos.north()).getBlock() == block) {
+                        minZ -= 1.0d;
+                    }
+                }
+
+                int i = type.ordinal();
+                if (vertices[i] == null) {
+                    vertices[i] = new float[24 * 3 * 4];
+                } else if (counts[i] + 24 * 3 > vertices[i].length) {
+                    vertices[i] = Arrays.copyOf(vertices[i], vertices[i].length << 1);
+                }
+                float dx = pos.getX() - this.x;
+                float dy = pos.getY() - this.y;
+                float dz = pos.getZ() - this.z;
+                counts[i] = bakeOutline(vertices[i], counts[i],
+                        dx + (float) minX, dy + (float) bb.minY, dz + (float) minZ,
+                        dx + (float) bb.maxX, dy + (float) bb.maxY, dz + (float) bb.maxZ);
+            }
+
+            for (int i = 0; i < vertices.length; i++) {
+                if (vertices[i] != null) {
+                    this.vertices[i] = Arrays.copyOf(vertices[i], counts[i]);
+                    this.bounds = new AxisAlignedBB(this.x - 1, this.y, this.z - 1, this.x + 16, this.y + 16, this.z + 16);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the 12 edges of a box into an array as line vertices.
+     *
+     * @return the new number of floats in the array
+     */
+    protected static int bakeOutline(float[] dst, int i, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float[] corners = {
+                minX, minY, minZ, maxX, minY, minZ,
+                maxX, minY, minZ, maxX, minY, maxZ,
+                maxX, minY, maxZ, minX, minY, maxZ,
+                minX, minY, maxZ, minX, minY, minZ,
+                minX, minY, minZ, minX, maxY, minZ,
+                maxX, minY, minZ, maxX, maxY, minZ,
+                maxX, minY, maxZ, maxX, maxY, maxZ,
+                minX, minY, maxZ, minX, maxY, maxZ,
+                minX, maxY, minZ, maxX, maxY, minZ,
+                maxX, maxY, minZ, maxX, maxY, maxZ,
+                maxX, maxY, maxZ, minX, maxY, maxZ,
+                minX, maxY, maxZ, minX, maxY, minZ
+        };
+        System.arraycopy(corners, 0, dst, i, corners.length);
+        return i + corners.length;
+    }
+}
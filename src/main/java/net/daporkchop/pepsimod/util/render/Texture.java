@@ -28,14 +28,20 @@ import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.FMLLog;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static org.lwjgl.opengl.GL11.*;
 
@@ -45,6 +51,25 @@ import static org.lwjgl.opengl.GL11.*;
  * kek
  */
 public class Texture implements AutoCloseable {
+    /**
+     * Textures which have been decoded and are waiting to be uploaded on the client thread.
+     */
+    protected static final Queue<Texture> UPLOAD_QUEUE = new ConcurrentLinkedQueue<>();
+    protected static final int UPLOAD_BATCH = 8;
+    protected static final long UPLOAD_BUDGET = 2000000L; //2ms
+
+    /**
+     * Uploads pending textures to the GPU. Called once per frame on the client thread, and gives up after a handful of textures or once its time
+     * budget is used up so that a large reload is spread over several frames instead of causing a hitch.
+     */
+    public static void processUploads() {
+        long start = System.nanoTime();
+        Texture texture;
+        for (int i = 0; i < UPLOAD_BATCH && System.nanoTime() - start < UPLOAD_BUDGET && (texture = UPLOAD_QUEUE.poll()) != null; i++) {
+            texture.upload();
+        }
+    }
+
     protected static DynamicTexture loadTexture(BufferedImage image) {
         try {
             return new DynamicTexture(image);
@@ -62,9 +87,53 @@ public class Texture implements AutoCloseable {
         }
     }
 
+    /**
+     * Decodes an image, throwing an unchecked exception if it can't be read.
+     */
+    public static BufferedImage decode(byte[] data) {
+        try {
+            BufferedImage img = ImageIO.read(new ByteArrayInputStream(data));
+            if (img == null) {
+                throw new IOException("Unsupported image format");
+            }
+            return img;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public final ResourceLocation texture;
     protected final PCleaner cleaner;
 
+    protected volatile boolean ready = true;
+    protected volatile boolean closed;
+    protected int width;
+    protected int height;
+    protected int[] pixels;
+
+    /**
+     * Creates a texture which is decoded on the given executor once its data is available, and uploaded by {@link #processUploads()} afterwards.
+     * <p>
+     * The texture will not be rendered until the upload is complete.
+     */
+    public Texture(CompletionStage<byte[]> data, Executor executor) {
+        this();
+        data.thenApplyAsync(Texture::decode, executor).thenAccept(img -> {
+            this.submit(img.getWidth(), img.getHeight(), img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth()));
+        }).exceptionally(t -> {
+            FMLLog.log.error("Unable to load texture: {}", this.texture, t);
+            return null;
+        });
+    }
+
+    /**
+     * Creates a texture whose contents will be given later using {@link #submit(int, int, int[])}.
+     */
+    protected Texture() {
+        this(new ResourceLocation("pepsimod", "dynamic/" + UUID.randomUUID()), true);
+        this.ready = false;
+    }
+
     public Texture(byte[] in) throws IOException {
         this(new ByteArrayInputStream(in));
     }
@@ -86,7 +155,38 @@ public class Texture implements AutoCloseable {
         this.cleaner = clean ? PCleaner.cleaner(this, () -> Minecraft.getMinecraft().addScheduledTask(() -> Minecraft.getMinecraft().getTextureManager().deleteTexture(texture))) : null;
     }
 
+    /**
+     * Queues the given ARGB pixels to be uploaded as this texture's contents.
+     */
+    protected void submit(int width, int height, int[] pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        UPLOAD_QUEUE.add(this);
+    }
+
+    protected void upload() {
+        if (!this.closed) {
+            DynamicTexture dynamicTexture = new DynamicTexture(this.width, this.height);
+            System.arraycopy(this.pixels, 0, dynamicTexture.getTextureData(), 0, this.pixels.length);
+            dynamicTexture.updateDynamicTexture();
+            Minecraft.getMinecraft().getTextureManager().loadTexture(this.texture, dynamicTexture);
+            this.ready = true;
+        }
+        this.pixels = null;
+    }
+
+    /**
+     * @return whether this texture has been uploaded and may be bound
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
     public void render(float x, float y, float width, float height) {
+        if (!this.ready) {
+            return;
+        }
         this.bindTexture();
         Tessellator tessellator = Tessellator.getInstance();
         BufferBuilder renderer = tessellator.getBuffer();
@@ -105,6 +205,7 @@ public class Texture implements AutoCloseable {
 
     @Override
     public void close() {
+        this.closed = true;
         if (this.cleaner != null) {
             this.cleaner.clean();
         }
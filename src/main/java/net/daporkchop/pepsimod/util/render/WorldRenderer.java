@@ -21,21 +21,40 @@
 package net.daporkchop.pepsimod.util.render;
 
 import net.daporkchop.pepsimod.util.RenderColor;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.WorldVertexBufferUploader;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.Vec3d;
 import org.lwjgl.opengl.GL11;
 
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 
 import static org.lwjgl.opengl.GL11.*;
 
 /**
  * Helps with drawing things in the world.
- * 
+ * <p>
+ * Lines are not drawn immediately, but are buffered (along with their color) and grouped by line width. All lines with
+ * the same width are drawn in a single draw call when the renderer is paused or closed.
+ *
  * @author DaPorkchop_
  */
 public class WorldRenderer implements AutoCloseable {
+    protected static final float DEFAULT_WIDTH = 2.0f;
+
+    protected static final WorldVertexBufferUploader UPLOADER = new WorldVertexBufferUploader();
+
+    /**
+     * Buffers that aren't currently in use, kept around so that their backing direct memory can be re-used every frame
+     */
+    protected static final Deque<BufferBuilder> BUFFER_POOL = new ArrayDeque<>();
+
     protected final double startX;
     protected final double startY;
     protected final double startZ;
@@ -46,6 +65,21 @@ public class WorldRenderer implements AutoCloseable {
 
     protected final float partialTicks;
 
+    protected float[] widths = new float[4];
+    protected BufferBuilder[] buffers = new BufferBuilder[4];
+    protected int bucketCount;
+    protected BufferBuilder buffer;
+
+    protected Frustum frustum;
+
+    protected double maxDistanceSq = Double.POSITIVE_INFINITY;
+    protected double lodDistanceSq = Double.POSITIVE_INFINITY;
+
+    protected int red = 255;
+    protected int green = 255;
+    protected int blue = 255;
+    protected int alpha = 255;
+
     public WorldRenderer(double startX, double startY, double startZ, double x, double y, double z, float partialTicks) {
         this.startX = startX;
         this.startY = startY;
@@ -62,19 +96,27 @@ public class WorldRenderer implements AutoCloseable {
         glEnable(GL11.GL_BLEND);
         glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
         glEnable(GL11.GL_LINE_SMOOTH);
-        glLineWidth(2.0f);
+        glLineWidth(DEFAULT_WIDTH);
         glDisable(GL11.GL_TEXTURE_2D);
         glEnable(GL11.GL_CULL_FACE);
         glDisable(GL11.GL_DEPTH_TEST);
 
+        this.width(DEFAULT_WIDTH);
         return this.resume();
     }
 
     @Override
     public void close() {
-        glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
-        this.pause();
+        this.flush(false);
+        for (int i = 0; i < this.bucketCount; i++) {
+            BUFFER_POOL.push(this.buffers[i]);
+            this.buffers[i] = null;
+        }
+        this.bucketCount = 0;
+        this.buffer = null;
 
+        glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+        glLineWidth(DEFAULT_WIDTH);
         glEnable(GL11.GL_DEPTH_TEST);
         glEnable(GL11.GL_TEXTURE_2D);
         glDisable(GL11.GL_CULL_FACE);
@@ -82,16 +124,39 @@ public class WorldRenderer implements AutoCloseable {
         glDisable(GL11.GL_BLEND);
     }
 
+    /**
+     * Does nothing, lines may be added again immediately after {@link #pause()} returns.
+     * <p>
+     * Only exists for compatibility with code written for the old immediate-mode renderer.
+     */
     public WorldRenderer resume()    {
-        glBegin(GL11.GL_LINES);
         return this;
     }
 
+    /**
+     * Draws everything that has been buffered so far, so that raw GL calls may be made in between.
+     */
     public WorldRenderer pause() {
-        glEnd();
+        this.flush(true);
         return this;
     }
 
+    protected void flush(boolean restart) {
+        for (int i = 0; i < this.bucketCount; i++) {
+            BufferBuilder buffer = this.buffers[i];
+            buffer.finishDrawing();
+            if (buffer.getVertexCount() > 0) {
+                glLineWidth(this.widths[i]);
+                UPLOADER.draw(buffer);
+            } else {
+                buffer.reset();
+            }
+            if (restart) {
+                buffer.begin(GL_LINES, DefaultVertexFormats.POSITION_COLOR);
+            }
+        }
+    }
+
     public WorldRenderer(Vec3d start, double x, double y, double z, float partialTicks) {
         this(start.x, start.y, start.z, x, y, z, partialTicks);
     }
@@ -101,56 +166,163 @@ public class WorldRenderer implements AutoCloseable {
     }
 
     public WorldRenderer color(float r, float g, float b) {
-        glColor4f(r, g, b, 1.0f);
-        return this;
+        return this.color(r, g, b, 1.0f);
     }
 
     public WorldRenderer color(float r, float g, float b, float a) {
-        glColor4f(r, g, b, a);
-        return this;
+        return this.color((int) (r * 255.0f), (int) (g * 255.0f), (int) (b * 255.0f), (int) (a * 255.0f));
     }
 
     public WorldRenderer color(int r, int g, int b) {
-        glColor4f(r * 0.003921569f, g * 0.003921569f, b * 0.003921569f, 1.0f);
-        return this;
+        return this.color(r, g, b, 255);
     }
 
     public WorldRenderer color(int r, int g, int b, int a) {
-        glColor4f(r * 0.003921569f, g * 0.003921569f, b * 0.003921569f, a * 0.003921569f);
+        this.red = r;
+        this.green = g;
+        this.blue = b;
+        this.alpha = a;
         return this;
     }
 
     public WorldRenderer color(RenderColor color)    {
-        glColor4b(color.r, color.g, color.b, color.a);
-        return this;
+        return this.color(color.rOrig, color.gOrig, color.bOrig, color.aOrig);
     }
 
     public WorldRenderer color(Color color)    {
-        glColor4f(color.getRed() * 0.003921569f, color.getGreen() * 0.003921569f, color.getBlue() * 0.003921569f, color.getAlpha() * 0.003921569f);
-        return this;
+        return this.color(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
     }
 
     public WorldRenderer width(float width)  {
-        this.pause();
-        glLineWidth(width);
-        return this.resume();
+        for (int i = 0; i < this.bucketCount; i++) {
+            if (this.widths[i] == width) {
+                this.buffer = this.buffers[i];
+                return this;
+            }
+        }
+
+        if (this.bucketCount == this.buffers.length) {
+            this.widths = Arrays.copyOf(this.widths, this.bucketCount << 1);
+            this.buffers = Arrays.copyOf(this.buffers, this.bucketCount << 1);
+        }
+        BufferBuilder buffer = BUFFER_POOL.isEmpty() ? new BufferBuilder(0x20000) : BUFFER_POOL.pop();
+        buffer.begin(GL_LINES, DefaultVertexFormats.POSITION_COLOR);
+        this.widths[this.bucketCount] = width;
+        this.buffers[this.bucketCount++] = this.buffer = buffer;
+        return this;
+    }
+
+    /**
+     * Checks whether or not a box is (partially) inside of the view frustum.
+     * <p>
+     * Must only be called while the camera transform for the current frame is active.
+     */
+    public boolean isVisible(AxisAlignedBB bb) {
+        return this.isVisible(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+    }
+
+    /**
+     * @see #isVisible(AxisAlignedBB)
+     */
+    public boolean isVisible(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (this.frustum == null) {
+            this.frustum = new Frustum();
+            this.frustum.setPosition(this.x, this.y, this.z);
+        }
+        return this.frustum.isBoxInFrustum(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Sets the distance limits for boxes drawn using {@link #outline(double, double, double, double, double, double)}.
+     * <p>
+     * These settings remain in effect until changed again, or until the renderer is closed.
+     *
+     * @param maxDistance the maximum distance at which to draw boxes at all
+     * @param lodDistance the distance beyond which boxes are simplified to a single vertical line
+     */
+    public WorldRenderer distance(double maxDistance, double lodDistance) {
+        this.maxDistanceSq = maxDistance * maxDistance;
+        this.lodDistanceSq = lodDistance * lodDistance;
+        return this;
+    }
+
+    /**
+     * Checks whether or not a box should be rendered at all, i.e. if it is within the maximum distance and inside of the
+     * view frustum.
+     */
+    public boolean shouldRender(AxisAlignedBB bb) {
+        return this.shouldRender(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+    }
+
+    /**
+     * @see #shouldRender(AxisAlignedBB)
+     */
+    public boolean shouldRender(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        //distance to the closest point in the box
+        double dx = Math.max(Math.max(minX - this.x, this.x - maxX), 0.0d);
+        double dy = Math.max(Math.max(minY - this.y, this.y - maxY), 0.0d);
+        double dz = Math.max(Math.max(minZ - this.z, this.z - maxZ), 0.0d);
+        return dx * dx + dy * dy + dz * dz <= this.maxDistanceSq && this.isVisible(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * @return the X coordinate of the viewer
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * @return the Y coordinate of the viewer
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * @return the Z coordinate of the viewer
+     */
+    public double getZ() {
+        return this.z;
+    }
+
+    /**
+     * Adds a number of pre-baked lines.
+     *
+     * @param offsetX  the X coordinate that the vertices are relative to
+     * @param offsetY  the Y coordinate that the vertices are relative to
+     * @param offsetZ  the Z coordinate that the vertices are relative to
+     * @param vertices the line vertices, as packed XYZ triples
+     */
+    public WorldRenderer lines(double offsetX, double offsetY, double offsetZ, float[] vertices) {
+        double x = offsetX - this.x;
+        double y = offsetY - this.y;
+        double z = offsetZ - this.z;
+        for (int i = 0; i < vertices.length; i += 3) {
+            this.vertex(x + vertices[i], y + vertices[i + 1], z + vertices[i + 2]);
+        }
+        return this;
+    }
+
+    protected void vertex(double x, double y, double z) {
+        this.buffer.pos(x, y, z).color(this.red, this.green, this.blue, this.alpha).endVertex();
     }
 
     public WorldRenderer line(double x1, double y1, double z1, double x2, double y2, double z2)  {
-        glVertex3d(x1 - this.x, y1 - this.y, z1 - this.z);
-        glVertex3d(x2 - this.x, y2 - this.y, z2 - this.z);
+        this.vertex(x1 - this.x, y1 - this.y, z1 - this.z);
+        this.vertex(x2 - this.x, y2 - this.y, z2 - this.z);
         return this;
     }
 
     public WorldRenderer line(float x1, float y1, float z1, float x2, float y2, float z2)  {
-        glVertex3d(x1 - this.x, y1 - this.y, z1 - this.z);
-        glVertex3d(x2 - this.x, y2 - this.y, z2 - this.z);
+        this.vertex(x1 - this.x, y1 - this.y, z1 - this.z);
+        this.vertex(x2 - this.x, y2 - this.y, z2 - this.z);
         return this;
     }
 
     public WorldRenderer line(int x1, int y1, int z1, int x2, int y2, int z2)  {
-        glVertex3d(x1 - this.x, y1 - this.y, z1 - this.z);
-        glVertex3d(x2 - this.x, y2 - this.y, z2 - this.z);
+        this.vertex(x1 - this.x, y1 - this.y, z1 - this.z);
+        this.vertex(x2 - this.x, y2 - this.y, z2 - this.z);
         return this;
     }
 
@@ -167,8 +339,8 @@ public class WorldRenderer implements AutoCloseable {
     }
     
     public WorldRenderer lineFromEyes(double x, double y, double z)  {
-        glVertex3d(this.startX, this.startY, this.startZ);
-        glVertex3d(x - this.x, y - this.y, z - this.z);
+        this.vertex(this.startX, this.startY, this.startZ);
+        this.vertex(x - this.x, y - this.y, z - this.z);
         return this;
     }
 
@@ -207,6 +379,20 @@ public class WorldRenderer implements AutoCloseable {
     }
 
     public WorldRenderer outline(double minX, double minY, double minZ, double maxX, double maxY, double maxZ)   {
+        if (!this.shouldRender(minX, minY, minZ, maxX, maxY, maxZ)) {
+            return this;
+        }
+
+        double centerX = (minX + maxX) * 0.5d;
+        double centerZ = (minZ + maxZ) * 0.5d;
+        double dx = centerX - this.x;
+        double dy = (minY + maxY) * 0.5d - this.y;
+        double dz = centerZ - this.z;
+        if (dx * dx + dy * dy + dz * dz > this.lodDistanceSq) {
+            //too far away to make out any detail, just draw a vertical line
+            return this.line(centerX, minY, centerZ, centerX, maxY, centerZ);
+        }
+
         return this.internal_outline(
                 minX - this.x, minY - this.y, minZ - this.z,
                 maxX - this.x, maxY - this.y, maxZ - this.z
@@ -214,41 +400,41 @@ public class WorldRenderer implements AutoCloseable {
     }
 
     protected WorldRenderer internal_outline(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
-        glVertex3d(minX, minY, minZ);
-        glVertex3d(maxX, minY, minZ);
+        this.vertex(minX, minY, minZ);
+        this.vertex(maxX, minY, minZ);
 
-        glVertex3d(maxX, minY, minZ);
-        glVertex3d(maxX, minY, maxZ);
+        this.vertex(maxX, minY, minZ);
+        this.vertex(maxX, minY, maxZ);
 
-        glVertex3d(maxX, minY, maxZ);
-        glVertex3d(minX, minY, maxZ);
+        this.vertex(maxX, minY, maxZ);
+        this.vertex(minX, minY, maxZ);
 
-        glVertex3d(minX, minY, maxZ);
-        glVertex3d(minX, minY, minZ);
+        this.vertex(minX, minY, maxZ);
+        this.vertex(minX, minY, minZ);
 
-        glVertex3d(minX, minY, minZ);
-        glVertex3d(minX, maxY, minZ);
+        this.vertex(minX, minY, minZ);
+        this.vertex(minX, maxY, minZ);
 
-        glVertex3d(maxX, minY, minZ);
-        glVertex3d(maxX, maxY, minZ);
+        this.vertex(maxX, minY, minZ);
+        this.vertex(maxX, maxY, minZ);
 
-        glVertex3d(maxX, minY, maxZ);
-        glVertex3d(maxX, maxY, maxZ);
+        this.vertex(maxX, minY, maxZ);
+        this.vertex(maxX, maxY, maxZ);
 
-        glVertex3d(minX, minY, maxZ);
-        glVertex3d(minX, maxY, maxZ);
+        this.vertex(minX, minY, maxZ);
+        this.vertex(minX, maxY, maxZ);
 
-        glVertex3d(minX, maxY, minZ);
-        glVertex3d(maxX, maxY, minZ);
+        this.vertex(minX, maxY, minZ);
+        this.vertex(maxX, maxY, minZ);
 
-        glVertex3d(maxX, maxY, minZ);
-        glVertex3d(maxX, maxY, maxZ);
+        this.vertex(maxX, maxY, minZ);
+        this.vertex(maxX, maxY, maxZ);
 
-        glVertex3d(maxX, maxY, maxZ);
-        glVertex3d(minX, maxY, maxZ);
+        this.vertex(maxX, maxY, maxZ);
+        this.vertex(minX, maxY, maxZ);
 
-        glVertex3d(minX, maxY, maxZ);
-        glVertex3d(minX, maxY, minZ);
+        this.vertex(minX, maxY, maxZ);
+        this.vertex(minX, maxY, minZ);
         return this;
     }
 }